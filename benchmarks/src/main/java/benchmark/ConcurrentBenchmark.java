@@ -0,0 +1,150 @@
+package benchmark;
+
+import graphalgorithms.AdjacencyListGraph;
+import graphalgorithms.ConcurrentGraph;
+import graphalgorithms.Graph;
+import graphalgorithms.VersionedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Stress one shared graph with reader threads doing random walks (neighbors and degree)
+ * while writer threads remove and re-add edges, and report the throughput of both.
+ * The baseline is an AdjacencyListGraph behind one global lock;
+ * ConcurrentGraph and VersionedGraph readers never lock.
+ * A read is one step of a walk, a write removes and re-adds one edge.
+ * The readWrite group has 4 readers and 1 writer, change them with -tg readers,writers;
+ * readOnly runs the readers alone, with -t threads.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConcurrentBenchmark {
+    private static final long SEED = 42;
+
+    /** The graph shared by all the threads. */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"global-lock", "ConcurrentGraph", "VersionedGraph"})
+        public String graph;
+        @Param({"100000"})
+        public int vertices;
+        @Param({"8"})
+        public int degree;
+
+        GeneratedGraph generated;
+        Graph<Integer> shared;
+        boolean lock;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            generated = GeneratedGraph.erdosRenyi(vertices, degree, SEED);
+            shared = switch (graph) {
+                case "global-lock" -> generated.fill(new AdjacencyListGraph<>());
+                case "ConcurrentGraph" -> generated.fill(new ConcurrentGraph<>());
+                case "VersionedGraph" -> generated.fill(new VersionedGraph<>());
+                default -> throw new IllegalArgumentException("Unknown graph: " + graph);
+            };
+            lock = graph.equals("global-lock");
+        }
+    }
+
+    /** Position of the random walk of a reader. */
+    @State(Scope.Thread)
+    public static class Walk {
+        SplittableRandom random;
+        int vertex;
+
+        @Setup(Level.Trial)
+        public void setUp(Shared shared, ThreadParams threads) {
+            random = new SplittableRandom(SEED + threads.getThreadIndex());
+            vertex = random.nextInt(shared.vertices);
+        }
+    }
+
+    /** Next edge of a writer. Writer i takes the edges e with e % writers == i, so writers never touch the same edge. */
+    @State(Scope.Thread)
+    public static class Writes {
+        int first;
+        int stride;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threads) {
+            first = threads.getGroupIndex() * threads.getSubgroupThreadCount() + threads.getSubgroupThreadIndex();
+            stride = threads.getGroupCount() * threads.getSubgroupThreadCount();
+            next = first;
+        }
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(4)
+    public int read(Shared shared, Walk walk) {
+        return step(shared, walk);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void write(Shared shared, Writes writes) {
+        GeneratedGraph generated = shared.generated;
+        if (writes.next >= generated.edgeCount()) writes.next = writes.first;
+        int e = writes.next;
+        writes.next += writes.stride;
+        int u = generated.u(e);
+        int v = generated.v(e);
+        Graph<Integer> graph = shared.shared;
+        if (shared.lock) {
+            synchronized (graph) {
+                graph.removeEdge(u, v);
+            }
+            synchronized (graph) {
+                graph.addEdge(u, v, generated.weight(e));
+            }
+        } else {
+            graph.removeEdge(u, v);
+            graph.addEdge(u, v, generated.weight(e));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int readOnly(Shared shared, Walk walk) {
+        return step(shared, walk);
+    }
+
+    // One step of the random walk; jumps to a random vertex when the current one has no neighbors.
+    private static int step(Shared shared, Walk walk) {
+        Graph<Integer> graph = shared.shared;
+        int degree;
+        List<Integer> neighbors;
+        if (shared.lock) {
+            synchronized (graph) {
+                degree = graph.degree(walk.vertex);
+                neighbors = graph.neighbors(walk.vertex);
+            }
+        } else {
+            degree = graph.degree(walk.vertex);
+            neighbors = graph.neighbors(walk.vertex);
+        }
+        walk.vertex = neighbors.isEmpty()
+                ? walk.random.nextInt(shared.vertices)
+                : neighbors.get(walk.random.nextInt(neighbors.size()));
+        return degree;
+    }
+}
@@ -0,0 +1,194 @@
+package benchmark;
+
+import graphalgorithms.Graph;
+import graphalgorithms.IntAdjacencyGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Edges of a generated graph on the vertices 0..vertexCount-1, stored in int arrays
+ * so the same graph can be loaded into every graph implementation.
+ * The static methods are seeded generators, so every run benchmarks the same graphs.
+ */
+public class GeneratedGraph {
+    private final String name;
+    private final int vertexCount;
+    private int[] us;
+    private int[] vs;
+    private int[] ws;
+    private int edgeCount;
+    private final Random random;
+
+    private GeneratedGraph(String name, int vertexCount, long seed) {
+        this.name = name;
+        this.vertexCount = vertexCount;
+        us = new int[16];
+        vs = new int[16];
+        ws = new int[16];
+        edgeCount = 0;
+        random = new Random(seed);
+    }
+
+    /**
+     * Return the graph made by the named generator, er, grid or powerlaw, on n vertices.
+     * The er and powerlaw graphs get about the specified average degree.
+     */
+    public static GeneratedGraph generate(String generator, int n, int averageDegree, long seed) {
+        return switch (generator) {
+            case "er" -> erdosRenyi(n, averageDegree, seed);
+            case "grid" -> grid(n, seed);
+            case "powerlaw" -> powerLaw(n, Math.max(averageDegree / 2, 1), seed);
+            default -> throw new IllegalArgumentException("Unknown generator: " + generator);
+        };
+    }
+
+    /**
+     * Return an Erdos-Renyi G(n, p) random graph with p chosen for the specified average degree.
+     * Uses the geometric skipping method of Batagelj and Brandes, so it runs in O(n + m).
+     */
+    public static GeneratedGraph erdosRenyi(int n, double averageDegree, long seed) {
+        GeneratedGraph graph = new GeneratedGraph("erdos-renyi", n, seed);
+        double p = Math.min(1.0, averageDegree / Math.max(n - 1, 1));
+        if (p >= 1.0) {
+            for (int v = 1; v < n; v++) {
+                for (int w = 0; w < v; w++) {
+                    graph.add(v, w);
+                }
+            }
+            return graph;
+        }
+        double logQ = Math.log(1 - p);
+        int v = 1;
+        long w = -1;
+        while (v < n) {
+            w += 1 + (long) Math.floor(Math.log(1 - graph.random.nextDouble()) / logQ);
+            while (w >= v && v < n) {
+                w -= v;
+                v++;
+            }
+            if (v < n) graph.add(v, (int) w);
+        }
+        return graph;
+    }
+
+    /**
+     * Return a grid graph on n vertices laid out row by row in rows of ceil(sqrt(n)) vertices,
+     * with an edge to the right and an edge down from every vertex.
+     */
+    public static GeneratedGraph grid(int n, long seed) {
+        GeneratedGraph graph = new GeneratedGraph("grid", n, seed);
+        int width = (int) Math.ceil(Math.sqrt(n));
+        for (int v = 0; v < n; v++) {
+            if ((v + 1) % width != 0 && v + 1 < n) graph.add(v, v + 1);
+            if (v + width < n) graph.add(v, v + width);
+        }
+        return graph;
+    }
+
+    /**
+     * Return a power-law graph on n vertices grown by Barabasi-Albert preferential attachment,
+     * where every new vertex gets edges to the specified number of distinct earlier vertices.
+     */
+    public static GeneratedGraph powerLaw(int n, int edgesPerVertex, long seed) {
+        GeneratedGraph graph = new GeneratedGraph("power-law", n, seed);
+        int m = Math.max(1, Math.min(edgesPerVertex, n - 1));
+        // every edge end point, so a uniform pick from it is a pick proportional to degree
+        int[] ends = new int[2 * m * n + m * m];
+        int endCount = 0;
+        for (int v = 1; v <= m && v < n; v++) {
+            for (int w = 0; w < v; w++) {
+                graph.add(v, w);
+                ends[endCount++] = v;
+                ends[endCount++] = w;
+            }
+        }
+        int[] picked = new int[m];
+        for (int v = m + 1; v < n; v++) {
+            int count = 0;
+            while (count < m) {
+                int w = ends[graph.random.nextInt(endCount)];
+                boolean duplicate = false;
+                for (int i = 0; i < count; i++) {
+                    duplicate |= picked[i] == w;
+                }
+                if (!duplicate) picked[count++] = w;
+            }
+            for (int i = 0; i < m; i++) {
+                graph.add(v, picked[i]);
+                ends[endCount++] = v;
+                ends[endCount++] = picked[i];
+            }
+        }
+        return graph;
+    }
+
+    private void add(int u, int v) {
+        if (edgeCount == us.length) {
+            us = Arrays.copyOf(us, 2 * edgeCount);
+            vs = Arrays.copyOf(vs, 2 * edgeCount);
+            ws = Arrays.copyOf(ws, 2 * edgeCount);
+        }
+        us[edgeCount] = u;
+        vs[edgeCount] = v;
+        ws[edgeCount] = 1 + random.nextInt(1000);
+        edgeCount++;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public int u(int edge) {
+        return us[edge];
+    }
+
+    public int v(int edge) {
+        return vs[edge];
+    }
+
+    public int weight(int edge) {
+        return ws[edge];
+    }
+
+    /** Add the vertices and edges to the specified empty graph and return it. */
+    public <G extends Graph<Integer>> G fill(G graph) {
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            graph.addEdge(us[e], vs[e], ws[e]);
+        }
+        return graph;
+    }
+
+    /** Add the edges to the specified int graph, which has the vertices and no edges, and return it. */
+    public IntAdjacencyGraph fill(IntAdjacencyGraph graph) {
+        while (graph.vertexCount() < vertexCount) {
+            graph.addVertex();
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            graph.addEdge(us[e], vs[e], ws[e]);
+        }
+        return graph;
+    }
+
+    /** Add the vertices and edges to the specified empty adjacency matrix graph and return it. */
+    public <G extends adjacencymatrixgraph.Graph<Integer>> G fill(G graph) {
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(v);
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            graph.addEdge(us[e], vs[e], ws[e]);
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,402 @@
+package benchmark;
+
+import adjacencymatrixgraph.AdjacencyMatrixGraph;
+import adjacencymatrixgraph.MatrixAlgorithms;
+import graphalgorithms.AdjacencyListGraph;
+import graphalgorithms.CsrGraph;
+import graphalgorithms.Edge;
+import graphalgorithms.EdgeListGraph;
+import graphalgorithms.Graph;
+import graphalgorithms.GraphAlgorithms;
+import graphalgorithms.IntAdjacencyGraph;
+import graphalgorithms.IntGraphAlgorithms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmarks of the graph implementations and GraphAlgorithms on seeded random graphs.
+ * Every nested class benchmarks one implementation, on er, grid and powerlaw graphs.
+ * EdgeListGraph (O(E) queries) and AdjacencyMatrixGraph (O(V^2) bits) default to at most 10000 vertices,
+ * the others to 1000 up to 1000000; choose other sizes with -p vertices=...
+ * The query benchmarks count one operation per query; addEdge and removeEdge count adding
+ * or removing all the edges of the graph as one operation.
+ */
+public class GraphBenchmarks {
+    private static final int QUERIES = 10_000;
+    private static final long SEED = 42;
+
+    // Return the specified number of seeded random vertices of a graph with n vertices.
+    private static int[] randomVertices(int n, int count) {
+        Random random = new Random(SEED);
+        int[] vertices = new int[count];
+        for (int i = 0; i < count; i++) {
+            vertices[i] = random.nextInt(n);
+        }
+        return vertices;
+    }
+
+    //-----------------------------------------------------
+
+    /**
+     * Queries and updates of a Graph. The graph for addEdge (only the vertices)
+     * and removeEdge (all the edges) is made again before every invocation.
+     */
+    @State(Scope.Benchmark)
+    @Fork(1)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public abstract static class Operations {
+        @Param({"er", "grid", "powerlaw"})
+        public String generator;
+
+        GeneratedGraph generated;
+        Graph<Integer> graph;
+        int[] queries;
+        int[] queryEdges;
+        private String benchmark;
+
+        abstract int vertexCount();
+
+        abstract Graph<Integer> newGraph();
+
+        @Setup(Level.Trial)
+        public void setUpTrial(BenchmarkParams params) {
+            benchmark = params.getBenchmark();
+            generated = GeneratedGraph.generate(generator, vertexCount(), 8, SEED);
+            graph = generated.fill(newGraph());
+            queries = randomVertices(vertexCount(), QUERIES);
+            queryEdges = randomVertices(generated.edgeCount(), QUERIES);
+        }
+
+        @Setup(Level.Invocation)
+        public void setUpInvocation() {
+            if (benchmark.endsWith(".addEdge")) {
+                graph = newGraph();
+                for (int v = 0; v < generated.vertexCount(); v++) {
+                    graph.addVertex(v);
+                }
+            } else if (benchmark.endsWith(".removeEdge")) {
+                graph = generated.fill(newGraph());
+            }
+        }
+
+        @Benchmark
+        public Graph<Integer> addEdge() {
+            for (int e = 0; e < generated.edgeCount(); e++) {
+                graph.addEdge(generated.u(e), generated.v(e), generated.weight(e));
+            }
+            return graph;
+        }
+
+        @Benchmark
+        public Graph<Integer> removeEdge() {
+            for (int e = 0; e < generated.edgeCount(); e++) {
+                graph.removeEdge(generated.u(e), generated.v(e));
+            }
+            return graph;
+        }
+
+        @Benchmark
+        @OperationsPerInvocation(QUERIES)
+        public void neighbors(Blackhole blackhole) {
+            for (int v : queries) {
+                blackhole.consume(graph.neighbors(v));
+            }
+        }
+
+        @Benchmark
+        @OperationsPerInvocation(QUERIES)
+        public void areAdjacent(Blackhole blackhole) {
+            for (int i = 0; i < queries.length; i++) {
+                blackhole.consume(graph.areAdjacent(queries[i], queries[(i + 1) % queries.length]));
+            }
+        }
+
+        @Benchmark
+        @OperationsPerInvocation(QUERIES)
+        public void getEdge(Blackhole blackhole) {
+            for (int e : queryEdges) {
+                blackhole.consume(graph.getEdge(generated.u(e), generated.v(e)));
+            }
+        }
+    }
+
+    public static class AdjacencyListOperations extends Operations {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int vertices;
+
+        @Override
+        int vertexCount() {
+            return vertices;
+        }
+
+        @Override
+        Graph<Integer> newGraph() {
+            return new AdjacencyListGraph<>();
+        }
+    }
+
+    public static class EdgeListOperations extends Operations {
+        @Param({"1000", "10000"})
+        public int vertices;
+
+        @Override
+        int vertexCount() {
+            return vertices;
+        }
+
+        @Override
+        Graph<Integer> newGraph() {
+            return new EdgeListGraph<>();
+        }
+    }
+
+    /** The Operations of an AdjacencyMatrixGraph, and its mst. */
+    @State(Scope.Benchmark)
+    @Fork(1)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public static class AdjacencyMatrixOperations {
+        @Param({"er", "grid", "powerlaw"})
+        public String generator;
+        @Param({"1000", "10000"})
+        public int vertices;
+
+        GeneratedGraph generated;
+        AdjacencyMatrixGraph<Integer> graph;
+        int[] queries;
+        int[] queryEdges;
+        private String benchmark;
+
+        @Setup(Level.Trial)
+        public void setUpTrial(BenchmarkParams params) {
+            benchmark = params.getBenchmark();
+            generated = GeneratedGraph.generate(generator, vertices, 8, SEED);
+            graph = generated.fill(new AdjacencyMatrixGraph<>(vertices));
+            queries = randomVertices(vertices, QUERIES);
+            queryEdges = randomVertices(generated.edgeCount(), QUERIES);
+        }
+
+        @Setup(Level.Invocation)
+        public void setUpInvocation() {
+            if (benchmark.endsWith(".addEdge")) {
+                graph = new AdjacencyMatrixGraph<>(vertices);
+                for (int v = 0; v < vertices; v++) {
+                    graph.addVertex(v);
+                }
+            } else if (benchmark.endsWith(".removeEdge")) {
+                graph = generated.fill(new AdjacencyMatrixGraph<>(vertices));
+            }
+        }
+
+        @Benchmark
+        public AdjacencyMatrixGraph<Integer> addEdge() {
+            for (int e = 0; e < generated.edgeCount(); e++) {
+                graph.addEdge(generated.u(e), generated.v(e), generated.weight(e));
+            }
+            return graph;
+        }
+
+        @Benchmark
+        public AdjacencyMatrixGraph<Integer> removeEdge() {
+            for (int e = 0; e < generated.edgeCount(); e++) {
+                graph.removeEdge(generated.u(e), generated.v(e));
+            }
+            return graph;
+        }
+
+        @Benchmark
+        @OperationsPerInvocation(QUERIES)
+        public void neighbors(Blackhole blackhole) {
+            for (int v : queries) {
+                blackhole.consume(graph.neighbors(v));
+            }
+        }
+
+        @Benchmark
+        @OperationsPerInvocation(QUERIES)
+        public void areAdjacent(Blackhole blackhole) {
+            for (int i = 0; i < queries.length; i++) {
+                blackhole.consume(graph.areAdjacent(queries[i], queries[(i + 1) % queries.length]));
+            }
+        }
+
+        @Benchmark
+        @OperationsPerInvocation(QUERIES)
+        public void getEdge(Blackhole blackhole) {
+            for (int e : queryEdges) {
+                blackhole.consume(graph.getEdge(generated.u(e), generated.v(e)));
+            }
+        }
+
+        @Benchmark
+        public List<adjacencymatrixgraph.Edge<Integer>> mst() {
+            return MatrixAlgorithms.mst(graph);
+        }
+    }
+
+    //-----------------------------------------------------
+
+    /** The algorithms of GraphAlgorithms on a Graph, from vertex 0. */
+    @State(Scope.Benchmark)
+    @Fork(1)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public abstract static class Algorithms {
+        @Param({"er", "grid", "powerlaw"})
+        public String generator;
+
+        Graph<Integer> graph;
+
+        abstract int vertexCount();
+
+        abstract Graph<Integer> newGraph();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            graph = GeneratedGraph.generate(generator, vertexCount(), 8, SEED).fill(newGraph());
+        }
+
+        @Benchmark
+        public List<Integer> dfs() {
+            return GraphAlgorithms.dfs(graph, 0);
+        }
+
+        @Benchmark
+        public List<Integer> bfs() {
+            return GraphAlgorithms.bfs(graph, 0);
+        }
+
+        @Benchmark
+        public List<Edge<Integer>> mst() {
+            return GraphAlgorithms.mst(graph);
+        }
+
+        @Benchmark
+        public Map<Integer, Integer> dijkstra() {
+            return GraphAlgorithms.dijkstra(graph, 0);
+        }
+    }
+
+    public static class AdjacencyListAlgorithms extends Algorithms {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int vertices;
+
+        @Override
+        int vertexCount() {
+            return vertices;
+        }
+
+        @Override
+        Graph<Integer> newGraph() {
+            return new AdjacencyListGraph<>();
+        }
+    }
+
+    public static class EdgeListAlgorithms extends Algorithms {
+        @Param({"1000", "10000"})
+        public int vertices;
+
+        @Override
+        int vertexCount() {
+            return vertices;
+        }
+
+        @Override
+        Graph<Integer> newGraph() {
+            return new EdgeListGraph<>();
+        }
+    }
+
+    /** The CsrGraph overloads of GraphAlgorithms, from vertex 0. */
+    @State(Scope.Benchmark)
+    @Fork(1)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public static class CsrAlgorithms {
+        @Param({"er", "grid", "powerlaw"})
+        public String generator;
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int vertices;
+
+        CsrGraph<Integer> graph;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            graph = CsrGraph.of(GeneratedGraph.generate(generator, vertices, 8, SEED).fill(new AdjacencyListGraph<>()));
+        }
+
+        @Benchmark
+        public int[] dfs() {
+            return GraphAlgorithms.dfs(graph, 0);
+        }
+
+        @Benchmark
+        public int[] bfs() {
+            return GraphAlgorithms.bfs(graph, 0);
+        }
+
+        @Benchmark
+        public int[] dijkstra() {
+            return GraphAlgorithms.dijkstra(graph, 0);
+        }
+    }
+
+    /** IntGraphAlgorithms on an IntAdjacencyGraph, from vertex 0. Dijkstra reuses its arrays. */
+    @State(Scope.Benchmark)
+    @Fork(1)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public static class IntAlgorithms {
+        @Param({"er", "grid", "powerlaw"})
+        public String generator;
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int vertices;
+
+        IntAdjacencyGraph graph;
+        long[] distance;
+        IntGraphAlgorithms.DijkstraWorkspace workspace;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            graph = GeneratedGraph.generate(generator, vertices, 8, SEED).fill(new IntAdjacencyGraph(vertices));
+            distance = new long[vertices];
+            workspace = new IntGraphAlgorithms.DijkstraWorkspace(vertices);
+        }
+
+        @Benchmark
+        public int[] dfs() {
+            return IntGraphAlgorithms.dfs(graph, 0);
+        }
+
+        @Benchmark
+        public int[] bfs() {
+            return IntGraphAlgorithms.bfs(graph, 0);
+        }
+
+        @Benchmark
+        public int[] mst() {
+            return IntGraphAlgorithms.mst(graph);
+        }
+
+        @Benchmark
+        public long[] dijkstra() {
+            IntGraphAlgorithms.dijkstra(graph, 0, distance, null, workspace);
+            return distance;
+        }
+    }
+}
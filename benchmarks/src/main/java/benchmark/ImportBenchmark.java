@@ -0,0 +1,87 @@
+package benchmark;
+
+import graphalgorithms.AdjacencyListGraph;
+import graphalgorithms.EdgeListGraph;
+import graphalgorithms.EdgeListImporter;
+import graphalgorithms.Graph;
+import graphalgorithms.ImportStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure EdgeListImporter on a generated "u v w" file, for a growing number of parsing threads.
+ * One operation imports the whole file into a new graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ImportBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"AdjacencyListGraph", "EdgeListGraph"})
+    public String graph;
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+    @Param({"1000000"})
+    public int vertices;
+    @Param({"8"})
+    public int degree;
+    @Param({"4194304"})
+    public int chunk;
+    @Param({"false"})
+    public boolean deduplicate;
+
+    private Path file;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        GeneratedGraph generated = GeneratedGraph.erdosRenyi(vertices, degree, SEED);
+        file = Files.createTempFile("edges", ".txt");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int e = 0; e < generated.edgeCount(); e++) {
+                out.write(generated.u(e) + " " + generated.v(e) + " " + generated.weight(e) + "\n");
+            }
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public ImportStats importInto() throws IOException {
+        Graph<Integer> target = switch (graph) {
+            case "AdjacencyListGraph" -> new AdjacencyListGraph<>();
+            case "EdgeListGraph" -> new EdgeListGraph<>();
+            default -> throw new IllegalArgumentException("Unknown graph: " + graph);
+        };
+        return new EdgeListImporter<Integer>(Integer::valueOf)
+                .chunkBytes(chunk).deduplicate(deduplicate).pool(pool)
+                .importInto(file, target);
+    }
+}
@@ -0,0 +1,82 @@
+package benchmark;
+
+import adjacencymatrixgraph.AdjacencyMatrixGraph;
+import adjacencymatrixgraph.MatrixAlgorithms;
+import graphalgorithms.AdjacencyListGraph;
+import graphalgorithms.Edge;
+import graphalgorithms.Graph;
+import graphalgorithms.GraphAlgorithms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare Prim's algorithm on an AdjacencyMatrixGraph with the Kruskal based
+ * GraphAlgorithms.mst on the same random graph, for growing edge densities.
+ * The density from which prim is faster than both kruskal benchmarks is the crossover
+ * used for MatrixAlgorithms.DENSE_THRESHOLD.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MstBenchmark {
+    @Param({"250", "500", "1000"})
+    public int vertices;
+    @Param({"0.005", "0.01", "0.02", "0.05", "0.1", "0.2", "0.5", "1.0"})
+    public double density;
+
+    private AdjacencyMatrixGraph<Integer> matrixGraph;
+    private Graph<Integer> listGraph;
+
+    // Add the same random edges with the specified density to both graphs.
+    @Setup(Level.Trial)
+    public void setUp() {
+        matrixGraph = new AdjacencyMatrixGraph<>(vertices);
+        listGraph = new AdjacencyListGraph<>();
+        Random random = new Random(42);
+        for (int v = 0; v < vertices; v++) {
+            matrixGraph.addVertex(v);
+            listGraph.addVertex(v);
+        }
+        for (int u = 0; u < vertices; u++) {
+            for (int v = u + 1; v < vertices; v++) {
+                if (random.nextDouble() < density) {
+                    int weight = random.nextInt(1000);
+                    matrixGraph.addEdge(u, v, weight);
+                    listGraph.addEdge(u, v, weight);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<adjacencymatrixgraph.Edge<Integer>> prim() {
+        return MatrixAlgorithms.primMst(matrixGraph);
+    }
+
+    @Benchmark
+    public List<Edge<Integer>> kruskal() {
+        return GraphAlgorithms.mst(listGraph);
+    }
+
+    @Benchmark
+    public List<adjacencymatrixgraph.Edge<Integer>> matrixKruskal() {
+        return MatrixAlgorithms.kruskalMst(matrixGraph);
+    }
+}
@@ -0,0 +1,119 @@
+package benchmark;
+
+import graphalgorithms.AdjacencyListGraph;
+import graphalgorithms.ContractionHierarchy;
+import graphalgorithms.CsrGraph;
+import graphalgorithms.GraphAlgorithms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure point-to-point query latency of contraction hierarchies against bidirectional Dijkstra,
+ * and the cost of the preprocessing. The hierarchy is checked against Dijkstra before it is measured.
+ * The queries are sampled, so the results have the latency percentiles.
+ * The grid is the closest to a road network; er and powerlaw leave a large core and preprocess slowly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RoutingBenchmark {
+    private static final long SEED = 42;
+    private static final int QUERIES = 10_000;
+
+    @Param({"grid"})
+    public String generator;
+    @Param({"100000"})
+    public int vertices;
+
+    private AdjacencyListGraph<Integer> graph;
+    private CsrGraph<Integer> csr;
+    private ContractionHierarchy<Integer> hierarchy;
+    private int[] sources;
+    private int[] targets;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        graph = GeneratedGraph.generate(generator, vertices, 4, SEED).fill(new AdjacencyListGraph<>());
+        csr = CsrGraph.of(graph);
+        hierarchy = ContractionHierarchy.of(csr);
+        check();
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        hierarchy.write(serialized);
+        System.out.printf("%s %d: %d shortcuts, serialized %d bytes%n",
+                generator, vertices, hierarchy.shortcutCount(), serialized.size());
+
+        Random random = new Random(SEED);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(vertices);
+            targets[i] = random.nextInt(vertices);
+        }
+    }
+
+    // Compare the hierarchy with Dijkstra from a few sources.
+    private void check() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < 5; i++) {
+            int source = random.nextInt(vertices);
+            int[] expected = GraphAlgorithms.dijkstra(csr, csr.id(source));
+            for (int j = 0; j < 200; j++) {
+                int target = random.nextInt(vertices);
+                if (hierarchy.distance(source, target) != expected[csr.id(target)]) {
+                    throw new AssertionError("contraction hierarchy differs from dijkstra: " + source + "-" + target);
+                }
+            }
+        }
+    }
+
+    /** The next of the random queries, for every thread. */
+    @State(Scope.Thread)
+    public static class Query {
+        int next;
+
+        int take() {
+            int query = next;
+            next = (next + 1) % QUERIES;
+            return query;
+        }
+    }
+
+    @Benchmark
+    public int contractionHierarchy(Query query) {
+        int i = query.take();
+        return hierarchy.distance(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public int bidirectional(Query query) {
+        int i = query.take();
+        return GraphAlgorithms.shortestPath(graph, sources[i], targets[i]).getWeight();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public ContractionHierarchy<Integer> preprocess() {
+        return ContractionHierarchy.of(csr);
+    }
+}
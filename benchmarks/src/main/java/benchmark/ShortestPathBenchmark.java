@@ -0,0 +1,121 @@
+package benchmark;
+
+import graphalgorithms.AdjacencyListGraph;
+import graphalgorithms.CsrGraph;
+import graphalgorithms.DeltaStepping;
+import graphalgorithms.GraphAlgorithms;
+import graphalgorithms.MultiSourceDijkstra;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compare sequential Dijkstra with parallel delta-stepping on the same CSR graphs,
+ * for a growing number of threads. Delta-stepping is checked against Dijkstra on every pool before it is measured.
+ * Also compare Dijkstra from a batch of sources, one at a time and with MultiSourceDijkstra,
+ * counting one operation per source.
+ * A delta of 0 uses DeltaStepping.defaultDelta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ShortestPathBenchmark {
+    private static final long SEED = 42;
+    private static final int SOURCES = 16;
+
+    @Param({"er", "grid", "powerlaw"})
+    public String generator;
+    @Param({"100000", "1000000"})
+    public int vertices;
+    @Param({"0"})
+    public int delta;
+
+    private CsrGraph<Integer> graph;
+    private int graphDelta;
+    private int[] expected;
+    private int[] sources;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = CsrGraph.of(GeneratedGraph.generate(generator, vertices, 8, SEED).fill(new AdjacencyListGraph<>()));
+        graphDelta = delta > 0 ? delta : DeltaStepping.defaultDelta(graph);
+        expected = GraphAlgorithms.dijkstra(graph, 0);
+        sources = new int[Math.min(SOURCES, vertices)];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = (int) ((long) i * vertices / sources.length);
+        }
+    }
+
+    /**
+     * Pool of the parallel benchmarks, with the specified number of threads.
+     * Checks delta-stepping on the pool against Dijkstra before it is measured.
+     */
+    @State(Scope.Benchmark)
+    public static class Pool {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void setUp(ShortestPathBenchmark benchmark) {
+            pool = new ForkJoinPool(threads);
+            int[] distance = DeltaStepping.shortestPaths(benchmark.graph, 0, benchmark.graphDelta, pool);
+            if (!Arrays.equals(benchmark.expected, distance)) {
+                throw new AssertionError("delta-stepping differs from dijkstra on " + benchmark.generator);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int[] dijkstra() {
+        return GraphAlgorithms.dijkstra(graph, 0);
+    }
+
+    @Benchmark
+    public int[] deltaStepping(Pool pool) {
+        return DeltaStepping.shortestPaths(graph, 0, graphDelta, pool.pool);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SOURCES)
+    public void dijkstraSources(Blackhole blackhole) {
+        for (int source : sources) {
+            blackhole.consume(GraphAlgorithms.dijkstra(graph, source));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SOURCES)
+    public long multiSource(Pool pool) {
+        // the consumer runs on the pool threads, so the distances are summed instead of given to a Blackhole
+        AtomicLong total = new AtomicLong();
+        MultiSourceDijkstra.dijkstra(graph, sources, (source, distance) -> total.addAndGet(distance[0]), pool.pool);
+        return total.get();
+    }
+}
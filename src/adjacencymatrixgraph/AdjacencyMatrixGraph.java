@@ -1,30 +1,69 @@
 package adjacencymatrixgraph;
 
 import java.util.*;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Adjacency matrix implementation of the graph interface.
+ * Every vertex owns a matrix index. A row of the matrix is a bitset of the neighbors
+ * of the vertex, and a separate int array holds the weights of the edges to them in the order
+ * of the neighbors' indices, so the weights take 4 bytes per edge end instead of 4 bytes per matrix cell.
+ * A row is only as long as its highest neighbor index needs, so growing the matrix copies
+ * no rows, and the indices of removed vertices are reused.
+ * Looking up the weight of one edge counts the bits before it in the row, in O(V/64) time.
  */
 public class AdjacencyMatrixGraph<V> implements Graph<V> {
-    // List with all the vertices in the graph.
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long[] NO_BITS = new long[0];
+    private static final int[] NO_WEIGHTS = new int[0];
+
+    // Map with the matrix index of every vertex in the graph.
     private Map<V, Integer> vertices;
-    // 2-dim array with all the edges in the graph.
-    private Edge<V>[][] matrix;
-    private final int matrixCapacity;
-    private int matrixSize; // equal to vertices.size()
+    // Vertex at every matrix index, null for free indices.
+    private V[] vertexAt;
+    // Row i is a bitset with bit j set if there is an edge between the vertices at index i and j.
+    private long[][] adjacency;
+    // weights[i][r] is the weight of the edge between the vertex at index i and its r-th neighbor by index.
+    private int[][] weights;
+    // Number of neighbors of the vertex at every index.
+    private int[] degrees;
+    private int matrixCapacity;
+    // Indices below matrixSize have been used, free ones are on the freeIndices stack.
+    private int matrixSize;
+    private int[] freeIndices;
+    private int freeCount;
+    private int edgeCount;
 
     //-----------------------------------------------------
 
     /**
-     * Construct an empty AdjacencyMatrixGraph.
+     * Construct an empty AdjacencyMatrixGraph with room for the specified number of vertices.
+     * The matrix grows when more vertices are added.
      */
     public AdjacencyMatrixGraph(int matrixCapacity) {
         vertices = new LinkedHashMap<>();
+        this.matrixCapacity = Math.max(matrixCapacity, 1);
         @SuppressWarnings("unchecked")
-        Edge<V>[][] emptyMatrix = new Edge[matrixCapacity][matrixCapacity];
-        matrix = emptyMatrix;
-        this.matrixCapacity = matrixCapacity;
+        V[] emptyVertices = (V[]) new Object[this.matrixCapacity];
+        vertexAt = emptyVertices;
+        adjacency = new long[this.matrixCapacity][];
+        Arrays.fill(adjacency, NO_BITS);
+        weights = new int[this.matrixCapacity][];
+        Arrays.fill(weights, NO_WEIGHTS);
+        degrees = new int[this.matrixCapacity];
         matrixSize = 0;
+        freeIndices = new int[0];
+        freeCount = 0;
+        edgeCount = 0;
+    }
+
+    /** Construct an empty AdjacencyMatrixGraph. */
+    public AdjacencyMatrixGraph() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
     }
 
     /**
@@ -40,17 +79,16 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
      */
     @Override
     public List<Edge<V>> edges() {
-        Set<Edge<V>> edges = new HashSet();
-        for (int i = 0; i < matrixCapacity; i++) {
-
-            for (int j = 0; j < matrixCapacity; j++) {
-                Edge<V> curEdge = matrix[i][0];
-                if (curEdge != null) {
-                    edges.add(curEdge);
-                }
+        List<Edge<V>> edges = new ArrayList<>(edgeCount);
+        for (int i = 0; i < matrixSize; i++) {
+            long[] row = adjacency[i];
+            // only the upper triangle, so every edge is found once
+            int rank = rank(row, i);
+            for (int j = nextNeighbor(row, i); j >= 0; j = nextNeighbor(row, j + 1)) {
+                edges.add(new Edge<>(vertexAt[i], vertexAt[j], weights[i][rank++]));
             }
         }
-        return edges.stream().toList();
+        return edges;
     }
 
     /**
@@ -60,24 +98,81 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
     @Override
     public List<V> neighbors(V v) {
         assert vertices.containsKey(v);
-        int index = vertices.get(v);
+        long[] row = adjacency[vertices.get(v)];
         List<V> neighbourList = new ArrayList<>();
-        for (int i = 0; i < matrixCapacity; i++) {
-            if (matrix[index][i] != null) {
-                neighbourList.add(getVerticie(i));
-            }
+        for (int i = nextNeighbor(row, 0); i >= 0; i = nextNeighbor(row, i + 1)) {
+            neighbourList.add(vertexAt[i]);
         }
-
         return neighbourList;
     }
 
-    private V getVerticie(int index) {
-        for (Map.Entry<V, Integer> vIntegerEntry : vertices.entrySet()) {
-            if (vIntegerEntry.getValue().equals(index)) {
-                return vIntegerEntry.getKey();
-            }
+    // Return the first index >= from with its bit set in the row, or -1 if there is none.
+    private static int nextNeighbor(long[] row, int from) {
+        int word = from >>> 6;
+        if (word >= row.length) return -1;
+        long bits = row[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == row.length) return -1;
+            bits = row[word];
         }
-        return null;
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    // Return the number of bits set in the row before the specified index.
+    private static int rank(long[] row, int index) {
+        int word = Math.min(index >>> 6, row.length);
+        int rank = 0;
+        for (int w = 0; w < word; w++) {
+            rank += Long.bitCount(row[w]);
+        }
+        if (word < row.length) {
+            rank += Long.bitCount(row[word] & ~(-1L << index));
+        }
+        return rank;
+    }
+
+    /** Return the number of edges in the graph. */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Return the fraction of all possible edges between distinct vertices
+     * that are in the graph, 0 for graphs with less than two vertices.
+     */
+    public double density() {
+        int n = vertices.size();
+        if (n < 2) return 0;
+        return 2.0 * edgeCount / ((double) n * (n - 1));
+    }
+
+    // Return the matrix index of every vertex.
+    int[] indices() {
+        int[] indices = new int[vertices.size()];
+        int i = 0;
+        for (int index : vertices.values()) {
+            indices[i++] = index;
+        }
+        return indices;
+    }
+
+    // Return the neighbor bitset of the vertex with the specified matrix index.
+    long[] adjacencyRow(int index) {
+        return adjacency[index];
+    }
+
+    // Return the edge weights of the vertex with the specified matrix index, in the order of its neighbors' indices.
+    int[] weightRow(int index) {
+        return weights[index];
+    }
+
+    // Return the vertex at the specified matrix index.
+    V vertexAt(int index) {
+        return vertexAt[index];
+    }
+
+    int capacity() {
+        return matrixCapacity;
     }
 
     /**
@@ -87,13 +182,7 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
     @Override
     public int degree(V v) {
         assert vertices.containsKey(v);
-        int degree = 0;
-        for (int i = 0; i < matrixCapacity; i++) {
-            if (matrix[vertices.get(v)][i] != null) {
-                degree++;
-            }
-        }
-        return degree;
+        return degrees[vertices.get(v)];
     }
 
     /**
@@ -103,16 +192,75 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
     @Override
     public List<Edge<V>> incidentEdges(V v) {
         assert vertices.containsKey(v);
+        int index = vertices.get(v);
+        long[] row = adjacency[index];
+        List<Edge<V>> edges = new ArrayList<>(degrees[index]);
+        int rank = 0;
+        for (int i = nextNeighbor(row, 0); i >= 0; i = nextNeighbor(row, i + 1)) {
+            edges.add(new Edge<>(v, vertexAt[i], weights[index][rank++]));
+        }
+        return edges;
+    }
 
-        List<Edge<V>> edges = new ArrayList<>();
-        for (int i = 0; i < matrixCapacity; i++) {
-            if (matrix[vertices.get(v)][i] != null) {
-                edges.add(matrix[vertices.get(v)][i]);
-            }
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+        assert vertices.containsKey(v);
+        int index = vertices.get(v);
+        long[] row = adjacency[index];
+        int rank = 0;
+        for (int i = nextNeighbor(row, 0); i >= 0; i = nextNeighbor(row, i + 1)) {
+            action.accept(vertexAt[i], weights[index][rank++]);
         }
+    }
 
+    /**
+     * Return a new cursor over the neighbors of the vertices in the graph.
+     * Reset it to a vertex before use; it can be reused for any number of vertices.
+     */
+    @Override
+    public NeighborCursor<V> neighborCursor() {
+        return new NeighborCursor<>() {
+            private V vertex;
+            private int index;
+            private int column = -1;
+            // rank of the current neighbor in the row, the index of its weight
+            private int rank = -1;
 
-        return edges;
+            @Override
+            public void reset(V v) {
+                assert vertices.containsKey(v);
+                vertex = v;
+                index = vertices.get(v);
+                column = -1;
+                rank = -1;
+            }
+
+            @Override
+            public boolean next() {
+                column = nextNeighbor(adjacency[index], column + 1);
+                rank++;
+                return column >= 0;
+            }
+
+            @Override
+            public V neighbor() {
+                return vertexAt[column];
+            }
+
+            @Override
+            public int weight() {
+                return weights[index][rank];
+            }
+
+            @Override
+            public Edge<V> edge() {
+                return new Edge<>(vertex, vertexAt[column], weights[index][rank]);
+            }
+        };
     }
 
     /**
@@ -122,12 +270,24 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
     @Override
     public boolean areAdjacent(V u, V v) {
         assert vertices.containsKey(v) && vertices.containsKey(u);
-        for (int i = 0; i < matrixCapacity; i++) {
-            if (matrix[vertices.get(v)][vertices.get(u)] != null) {
-                return true;
-            }
-        }
-        return false;
+        return hasBit(vertices.get(u), vertices.get(v));
+    }
+
+    /**
+     * Return the edge between the specified vertices, or null if they are not adjacent.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public Edge<V> getEdge(V u, V v) {
+        assert vertices.containsKey(v) && vertices.containsKey(u);
+        int i = vertices.get(u);
+        int j = vertices.get(v);
+        return hasBit(i, j) ? new Edge<>(u, v, weights[i][rank(adjacency[i], j)]) : null;
+    }
+
+    private boolean hasBit(int i, int j) {
+        long[] row = adjacency[i];
+        return (j >>> 6) < row.length && (row[j >>> 6] & (1L << j)) != 0;
     }
 
     /**
@@ -138,8 +298,10 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
         for (V v : vertices.keySet()) {
             System.out.print("Vertex: " + v + "   ");
             int vRow = vertices.get(v);
+            int rank = 0;
             for (int col = 0; col < matrixSize; col++) {
-                System.out.printf("%-18s", matrix[vRow][col]);
+                Edge<V> edge = hasBit(vRow, col) ? new Edge<>(v, vertexAt[col], weights[vRow][rank++]) : null;
+                System.out.printf("%-18s", edge);
             }
             System.out.println();
         }
@@ -152,12 +314,60 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
     @Override
     public void addVertex(V v) {
         assert !vertices.containsKey(v);
-        vertices.put(v, matrixSize);
-        matrixSize++;
+        int index;
+        if (freeCount > 0) {
+            index = freeIndices[--freeCount];
+        } else {
+            if (matrixSize == matrixCapacity) {
+                extendMatrix();
+            }
+            index = matrixSize++;
+        }
+        vertices.put(v, index);
+        vertexAt[index] = v;
     }
 
+    // Double the capacity of the matrix. The rows are shared, not copied.
     private void extendMatrix() {
-        // NOT implemented!
+        int newCapacity = matrixCapacity * 2;
+        vertexAt = Arrays.copyOf(vertexAt, newCapacity);
+        adjacency = Arrays.copyOf(adjacency, newCapacity);
+        Arrays.fill(adjacency, matrixCapacity, newCapacity, NO_BITS);
+        weights = Arrays.copyOf(weights, newCapacity);
+        Arrays.fill(weights, matrixCapacity, newCapacity, NO_WEIGHTS);
+        degrees = Arrays.copyOf(degrees, newCapacity);
+        matrixCapacity = newCapacity;
+    }
+
+    // Set the bit for index j in row i and insert the weight at its rank.
+    private void link(int i, int j, int weight) {
+        long[] row = adjacency[i];
+        if ((j >>> 6) >= row.length) {
+            // wide enough for the vertices so far, so rows filled after the vertices are added grow once
+            int length = Math.min(Math.max(2 * row.length, words(Math.max(j + 1, matrixSize))), words(matrixCapacity));
+            row = adjacency[i] = Arrays.copyOf(row, length);
+        }
+        row[j >>> 6] |= 1L << j;
+
+        int rank = rank(row, j);
+        int degree = degrees[i];
+        int[] rowWeights = weights[i];
+        if (degree == rowWeights.length) {
+            rowWeights = weights[i] = Arrays.copyOf(rowWeights, Math.max(2 * degree, 4));
+        }
+        System.arraycopy(rowWeights, rank, rowWeights, rank + 1, degree - rank);
+        rowWeights[rank] = weight;
+        degrees[i]++;
+    }
+
+    // Clear the bit for index j in row i and remove the weight at its rank.
+    private void unlink(int i, int j) {
+        long[] row = adjacency[i];
+        int rank = rank(row, j);
+        row[j >>> 6] &= ~(1L << j);
+        int[] rowWeights = weights[i];
+        System.arraycopy(rowWeights, rank + 1, rowWeights, rank, degrees[i] - rank - 1);
+        degrees[i]--;
     }
 
     /**
@@ -169,15 +379,14 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
     public Edge<V> addEdge(V u, V v, int weight) {
         assert vertices.containsKey(v) && vertices.containsKey(u);
         assert weight >= 0;
-        Edge<V> tempEdge = new Edge<>(u, v, weight);
+        int i = vertices.get(u);
+        int j = vertices.get(v);
+        assert !hasBit(i, j);
 
-        assert matrix[vertices.get(u)][vertices.get(v)] == tempEdge;
-        assert matrix[vertices.get(v)][vertices.get(u)] == tempEdge;
-
-
-        matrix[vertices.get(u)][vertices.get(v)] = tempEdge;
-        matrix[vertices.get(v)][vertices.get(u)] = tempEdge;
-        return tempEdge;
+        link(i, j, weight);
+        if (i != j) link(j, i, weight);
+        edgeCount++;
+        return new Edge<>(u, v, weight);
     }
 
     /**
@@ -189,6 +398,27 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
         return addEdge(u, v, 0);
     }
 
+    /**
+     * Add the specified edges to the graph, without making an edge object for each.
+     * Pre: Before addition, the vertices of the edges are in the graph,
+     *   and the edges are not in the graph and are all different.
+     * Pre: The weights are not negative.
+     */
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        for (Edge<V> edge : edges) {
+            assert vertices.containsKey(edge.getU()) && vertices.containsKey(edge.getV());
+            assert edge.getWeight() >= 0;
+            int i = vertices.get(edge.getU());
+            int j = vertices.get(edge.getV());
+            assert !hasBit(i, j);
+
+            link(i, j, edge.getWeight());
+            if (i != j) link(j, i, edge.getWeight());
+        }
+        edgeCount += edges.size();
+    }
+
     /**
      * Remove the specified vertex from the graph.
      * Pre: The vertex is in the graph, and the vertex has no incident edges.
@@ -196,15 +426,15 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
     @Override
     public void removeVertex(V v) {
         assert vertices.containsKey(v);
-        int row = vertices.get(v); // Get the row index from vertices
-        //VIRKER IK
-        for (int i = 0; i < matrixCapacity; i++) {
-            //Tjekker om der kan slettes
-            assert matrix[row][i] == null : "Matrix element at [" + row + "][" + i + "] is not null";
-        }
+        int row = vertices.get(v);
+        assert degrees[row] == 0 : "Vertex " + v + " has incident edges";
 
         vertices.remove(v);
-        matrixSize--;
+        vertexAt[row] = null;
+        if (freeCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, Math.max(2 * freeCount, 4));
+        }
+        freeIndices[freeCount++] = row;
     }
 
     /**
@@ -215,9 +445,12 @@ public class AdjacencyMatrixGraph<V> implements Graph<V> {
     @Override
     public void removeEdge(V u, V v) {
         assert vertices.containsKey(v) && vertices.containsKey(u);
-        assert matrix[vertices.get(v)][vertices.get(u)] != null;
+        int i = vertices.get(u);
+        int j = vertices.get(v);
+        assert hasBit(i, j);
 
-        matrix[vertices.get(u)][vertices.get(v)] = null;
-        matrix[vertices.get(v)][vertices.get(u)] = null;
+        unlink(i, j);
+        if (i != j) unlink(j, i);
+        edgeCount--;
     }
 }
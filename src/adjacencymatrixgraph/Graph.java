@@ -1,6 +1,8 @@
 package adjacencymatrixgraph;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.ObjIntConsumer;
 
 public interface Graph<V> {
     /** Return a list with the vertices in the graph. */
@@ -27,6 +29,24 @@ public interface Graph<V> {
      */
     List<Edge<V>> incidentEdges(V v);
 
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    default void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+        for (Edge<V> edge : incidentEdges(v)) {
+            action.accept(edge.getU().equals(v) ? edge.getV() : edge.getU(), edge.getWeight());
+        }
+    }
+
+    /**
+     * Return a new cursor over the neighbors of the vertices in the graph.
+     * Reset it to a vertex before use; it can be reused for any number of vertices.
+     */
+    default NeighborCursor<V> neighborCursor() {
+        return new IncidentEdgeCursor<>(this);
+    }
+
     /** Print the vertices and the edges. */
     void printGraph();
 
@@ -49,6 +69,18 @@ public interface Graph<V> {
      */
     Edge<V> addEdge(V u, V v);
 
+    /**
+     * Add the specified edges to the graph.
+     * Pre: Before addition, the vertices of the edges are in the graph,
+     *   and the edges are not in the graph and are all different.
+     * Pre: The weights are not negative.
+     */
+    default void addEdges(Collection<Edge<V>> edges) {
+        for (Edge<V> edge : edges) {
+            addEdge(edge.getU(), edge.getV(), edge.getWeight());
+        }
+    }
+
     /**
      * Remove the specified vertex from the graph.
      * Pre: The vertex is in the graph, and the vertex has no incident edges.
@@ -62,10 +94,32 @@ public interface Graph<V> {
      */
     void removeEdge(V u, V v);
 
+    /**
+     * Remove the edges between the vertices of the specified edges from the graph.
+     * The weights of the specified edges are ignored.
+     * Pre: The graph has all the edges, and they are all different.
+     */
+    default void removeEdges(Collection<Edge<V>> edges) {
+        for (Edge<V> edge : edges) {
+            removeEdge(edge.getU(), edge.getV());
+        }
+    }
+
     /**
      * Return true, if the specified vertices are neighbors.
      * Pre: The vertices are vertices in the graph.
      */
     boolean areAdjacent(V u, V v);
 
+    /**
+     * Return the edge between the specified vertices, or null if they are not adjacent.
+     * Pre: The vertices are vertices in the graph.
+     */
+    default Edge<V> getEdge(V u, V v) {
+        for (Edge<V> edge : incidentEdges(u)) {
+            if (edge.getU().equals(u) ? edge.getV().equals(v) : edge.getU().equals(v)) return edge;
+        }
+        return null;
+    }
+
 }
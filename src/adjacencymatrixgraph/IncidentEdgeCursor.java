@@ -0,0 +1,48 @@
+package adjacencymatrixgraph;
+
+import java.util.List;
+
+/**
+ * NeighborCursor for any graph, on top of incidentEdges.
+ * Allocates the list of incident edges on every reset.
+ */
+class IncidentEdgeCursor<V> implements NeighborCursor<V> {
+    private final Graph<V> graph;
+    private V vertex;
+    private List<Edge<V>> edges;
+    private int index;
+
+    IncidentEdgeCursor(Graph<V> graph) {
+        this.graph = graph;
+        edges = List.of();
+        index = -1;
+    }
+
+    @Override
+    public void reset(V v) {
+        vertex = v;
+        edges = graph.incidentEdges(v);
+        index = -1;
+    }
+
+    @Override
+    public boolean next() {
+        return ++index < edges.size();
+    }
+
+    @Override
+    public V neighbor() {
+        Edge<V> edge = edges.get(index);
+        return edge.getU().equals(vertex) ? edge.getV() : edge.getU();
+    }
+
+    @Override
+    public int weight() {
+        return edges.get(index).getWeight();
+    }
+
+    @Override
+    public Edge<V> edge() {
+        return edges.get(index);
+    }
+}
@@ -0,0 +1,98 @@
+package adjacencymatrixgraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MatrixAlgorithms {
+    /**
+     * Density (fraction of possible edges present) from which mst uses Prim's algorithm
+     * on the matrix rows instead of Kruskal's algorithm on the edge list.
+     * See MstBenchmark in the benchmarks module for the measured crossover.
+     */
+    public static final double DENSE_THRESHOLD = 0.05;
+
+    /**
+     * Return a minimum spanning tree (MST), or a minimum spanning forest if the graph is not connected.
+     * Dense adjacency matrix graphs use primMst, all other graphs use kruskalMst.
+     */
+    public static <V> List<Edge<V>> mst(Graph<V> graph) {
+        if (graph instanceof AdjacencyMatrixGraph<V> matrixGraph && matrixGraph.density() >= DENSE_THRESHOLD) {
+            return primMst(matrixGraph);
+        }
+        return kruskalMst(graph);
+    }
+
+    /**
+     * Return a minimum spanning tree (MST), or a minimum spanning forest if the graph is not connected,
+     * found by Prim's algorithm directly on the bitset rows of the matrix in O(V^2) time.
+     */
+    public static <V> List<Edge<V>> primMst(AdjacencyMatrixGraph<V> graph) {
+        int[] indices = graph.indices();
+        boolean[] inTree = new boolean[graph.capacity()];
+        // cheapest known edge from the tree to every vertex outside it
+        int[] key = new int[graph.capacity()];
+        Arrays.fill(key, Integer.MAX_VALUE);
+        int[] parent = new int[graph.capacity()];
+        Arrays.fill(parent, -1);
+
+        List<Edge<V>> bestTree = new ArrayList<>(Math.max(indices.length - 1, 0));
+        for (int remaining = indices.length; remaining > 0; remaining--) {
+            int u = -1;
+            for (int i : indices) {
+                if (!inTree[i] && (u < 0 || key[i] < key[u])) u = i;
+            }
+            // a vertex without an edge to the tree starts the next tree of the forest
+            if (parent[u] >= 0) {
+                bestTree.add(new Edge<>(graph.vertexAt(parent[u]), graph.vertexAt(u), key[u]));
+            }
+            inTree[u] = true;
+
+            long[] row = graph.adjacencyRow(u);
+            int[] weights = graph.weightRow(u);
+            int rank = 0;
+            for (int word = 0; word < row.length; word++) {
+                for (long bits = row[word]; bits != 0; bits &= bits - 1, rank++) {
+                    int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    if (!inTree[i] && weights[rank] < key[i]) {
+                        key[i] = weights[rank];
+                        parent[i] = u;
+                    }
+                }
+            }
+        }
+        return bestTree;
+    }
+
+    /**
+     * Return a minimum spanning tree (MST), or a minimum spanning forest if the graph is not connected,
+     * found by Kruskal's algorithm on the edge list.
+     */
+    public static <V> List<Edge<V>> kruskalMst(Graph<V> graph) {
+        List<V> vertices = graph.vertices();
+        Map<V, Integer> ids = new HashMap<>(vertices.size() * 2);
+        for (int i = 0; i < vertices.size(); i++) {
+            ids.put(vertices.get(i), i);
+        }
+        List<Edge<V>> edges = graph.edges();
+
+        // (weight, edge index) pairs packed in longs, so a primitive sort orders the edges by weight
+        long[] order = new long[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            order[e] = (long) edges.get(e).getWeight() << 32 | e;
+        }
+        Arrays.sort(order);
+
+        UnionFind components = new UnionFind(vertices.size());
+        List<Edge<V>> bestTree = new ArrayList<>(Math.max(vertices.size() - 1, 0));
+        for (int i = 0; i < order.length && components.count() > 1; i++) {
+            Edge<V> edge = edges.get((int) order[i]);
+            if (components.union(ids.get(edge.getU()), ids.get(edge.getV()))) {
+                bestTree.add(edge);
+            }
+        }
+        return bestTree;
+    }
+}
@@ -0,0 +1,66 @@
+package adjacencymatrixgraph;
+
+/**
+ * Disjoint sets of the ints 0..size-1 (union-find),
+ * with path compression and union by rank.
+ */
+class UnionFind {
+    // Parent of every element, a root is its own parent.
+    private final int[] parent;
+    // Upper bound of the height of every root's tree.
+    private final byte[] rank;
+    private int count;
+
+    /** Construct size singleton sets. */
+    UnionFind(int size) {
+        parent = new int[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        rank = new byte[size];
+        count = size;
+    }
+
+    /** Return the number of disjoint sets. */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Return the representative of the set containing the specified element.
+     * Pre: 0 <= x < size.
+     */
+    int find(int x) {
+        int root = x;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merge the sets containing the specified elements.
+     * Return true if they were in different sets.
+     * Pre: 0 <= x, y < size.
+     */
+    boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+        if (rootX == rootY) return false;
+        if (rank[rootX] < rank[rootY]) {
+            parent[rootX] = rootY;
+        } else if (rank[rootX] > rank[rootY]) {
+            parent[rootY] = rootX;
+        } else {
+            parent[rootY] = rootX;
+            rank[rootX]++;
+        }
+        count--;
+        return true;
+    }
+}
@@ -0,0 +1,302 @@
+package graphalgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Adjacency list implementation of the graph interface.
+ * Every vertex keeps arrays of its neighbors and incident edges, and a hash map from each neighbor
+ * to its index in them, so neighbor and degree lookups cost O(deg), areAdjacent is O(1),
+ * and iterating over the neighbors allocates nothing.
+ */
+public class AdjacencyListGraph<V> implements Graph<V> {
+    // Map from every vertex in the graph to its incident edges.
+    private Map<V, Adjacency<V>> adjacency;
+    // Number of edges in the graph.
+    private int edgeCount;
+
+    //-----------------------------------------------------
+
+    /** Construct an empty AdjacencyListGraph. */
+    public AdjacencyListGraph() {
+        adjacency = new LinkedHashMap<>();
+        edgeCount = 0;
+    }
+
+    /** Return a list with the vertices in the graph. */
+    @Override
+    public List<V> vertices() {
+        return new ArrayList<>(adjacency.keySet());
+    }
+
+    /** Return a list with the edges in the graph. */
+    @Override
+    public List<Edge<V>> edges() {
+        List<Edge<V>> edges = new ArrayList<>(edgeCount);
+        for (Map.Entry<V, Adjacency<V>> entry : adjacency.entrySet()) {
+            V v = entry.getKey();
+            Adjacency<V> incident = entry.getValue();
+            for (int i = 0; i < incident.size; i++) {
+                // every edge is stored at both ends, only report it from its u end
+                if (incident.edges[i].getU().equals(v)) {
+                    edges.add(incident.edges[i]);
+                }
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Return a list with the neighbors of the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<V> neighbors(V v) {
+        assert adjacency.containsKey(v);
+        Adjacency<V> incident = adjacency.get(v);
+        return new ArrayList<>(Arrays.asList(incident.neighbors).subList(0, incident.size));
+    }
+
+    /**
+     * Return the degree for the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public int degree(V v) {
+        assert adjacency.containsKey(v);
+        return adjacency.get(v).size;
+    }
+
+    /**
+     * Return the incident edges to the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<Edge<V>> incidentEdges(V v) {
+        assert adjacency.containsKey(v);
+        Adjacency<V> incident = adjacency.get(v);
+        return new ArrayList<>(Arrays.asList(incident.edges).subList(0, incident.size));
+    }
+
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+        assert adjacency.containsKey(v);
+        Adjacency<V> incident = adjacency.get(v);
+        for (int i = 0; i < incident.size; i++) {
+            action.accept(incident.neighbors[i], incident.edges[i].getWeight());
+        }
+    }
+
+    /**
+     * Return a new cursor over the neighbors of the vertices in the graph.
+     * Reset it to a vertex before use; it can be reused for any number of vertices.
+     */
+    @Override
+    public NeighborCursor<V> neighborCursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Return true, if the specified vertices are neighbors.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public boolean areAdjacent(V u, V v) {
+        assert adjacency.containsKey(u) && adjacency.containsKey(v);
+        return adjacency.get(u).index.containsKey(v);
+    }
+
+    /**
+     * Return the edge between the specified vertices, or null if they are not adjacent.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public Edge<V> getEdge(V u, V v) {
+        assert adjacency.containsKey(u) && adjacency.containsKey(v);
+        return adjacency.get(u).get(v);
+    }
+
+    /** Print the vertices and the edges. */
+    @Override
+    public void printGraph() {
+        System.out.println("Vertices: " + vertices());
+        System.out.println("Edges: " + edges());
+    }
+
+    /**
+     * Add a vertex to the graph.
+     * Pre: The vertex is not in the graph before this addition.
+     */
+    @Override
+    public void addVertex(V v) {
+        assert !adjacency.containsKey(v);
+        adjacency.put(v, new Adjacency<>());
+    }
+
+    /**
+     * Add an edge with the specified weight between the specified vertices to the graph.
+     * Pre: Before addition, the vertices are in the graph, and the edge is not in the graph.
+     * Pre: The weight is not negative.
+     */
+    @Override
+    public Edge<V> addEdge(V u, V v, int weight) {
+        assert adjacency.containsKey(u) && adjacency.containsKey(v);
+        assert !adjacency.get(u).index.containsKey(v);
+        assert weight >= 0;
+        Edge<V> edge = new Edge<>(u, v, weight);
+        adjacency.get(u).add(v, edge);
+        // a self loop is stored once
+        if (!u.equals(v)) adjacency.get(v).add(u, edge);
+        edgeCount++;
+        return edge;
+    }
+
+    /**
+     * Add an edge with weight 0 between the specified vertices to the graph.
+     * Pre: Before addition, the vertices are in the graph, and the edge is not in the graph.
+     */
+    @Override
+    public Edge<V> addEdge(V u, V v) {
+        return addEdge(u, v, 0);
+    }
+
+    /**
+     * Add the specified edges to the graph, with one map lookup per end of every edge.
+     * Pre: Before addition, the vertices of the edges are in the graph,
+     *   and the edges are not in the graph and are all different.
+     * Pre: The weights are not negative.
+     */
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        for (Edge<V> edge : edges) {
+            Adjacency<V> uEdges = adjacency.get(edge.getU());
+            Adjacency<V> vEdges = adjacency.get(edge.getV());
+            assert uEdges != null && vEdges != null;
+            assert !uEdges.index.containsKey(edge.getV());
+            assert edge.getWeight() >= 0;
+            // the edges are stored as given, not copied
+            uEdges.add(edge.getV(), edge);
+            if (uEdges != vEdges) vEdges.add(edge.getU(), edge);
+        }
+        edgeCount += edges.size();
+    }
+
+    /**
+     * Remove the specified vertex from the graph.
+     * Pre: The vertex is in the graph, and the vertex has no incident edges.
+     */
+    @Override
+    public void removeVertex(V v) {
+        assert adjacency.containsKey(v);
+        assert adjacency.get(v).size == 0;
+        adjacency.remove(v);
+    }
+
+    /**
+     * Remove the edge between the specified vertices from the graph.
+     * Pre: The vertices are vertices in the graph,
+     *   and The graph has an edge between the vertices.
+     */
+    @Override
+    public void removeEdge(V u, V v) {
+        assert adjacency.containsKey(u) && adjacency.containsKey(v);
+        Edge<V> edge = adjacency.get(u).remove(v);
+        assert edge != null;
+        if (!u.equals(v)) adjacency.get(v).remove(u);
+        edgeCount--;
+    }
+
+    // Incident edges of a vertex, in arrays with no gaps; removing an edge moves the last one into its place.
+    private static final class Adjacency<V> {
+        private static final Object[] NO_NEIGHBORS = new Object[0];
+        private static final Edge<?>[] NO_EDGES = new Edge<?>[0];
+
+        // Index of every neighbor in neighbors and edges.
+        final Map<V, Integer> index = new HashMap<>();
+        V[] neighbors;
+        Edge<V>[] edges;
+        int size;
+
+        @SuppressWarnings("unchecked")
+        Adjacency() {
+            neighbors = (V[]) NO_NEIGHBORS;
+            edges = (Edge<V>[]) NO_EDGES;
+        }
+
+        Edge<V> get(V neighbor) {
+            Integer i = index.get(neighbor);
+            return i == null ? null : edges[i];
+        }
+
+        void add(V neighbor, Edge<V> edge) {
+            if (size == edges.length) {
+                int capacity = Math.max(2 * size, 4);
+                neighbors = Arrays.copyOf(neighbors, capacity);
+                edges = Arrays.copyOf(edges, capacity);
+            }
+            index.put(neighbor, size);
+            neighbors[size] = neighbor;
+            edges[size] = edge;
+            size++;
+        }
+
+        // Remove the edge to the neighbor and return it, or return null if there is none.
+        Edge<V> remove(V neighbor) {
+            Integer i = index.remove(neighbor);
+            if (i == null) return null;
+            Edge<V> edge = edges[i];
+            size--;
+            if (i < size) {
+                neighbors[i] = neighbors[size];
+                edges[i] = edges[size];
+                index.put(neighbors[i], i);
+            }
+            neighbors[size] = null;
+            edges[size] = null;
+            return edge;
+        }
+    }
+
+    // Cursor over the arrays of a vertex; allocates nothing.
+    private class Cursor implements NeighborCursor<V> {
+        private Adjacency<V> incident;
+        private int i;
+
+        @Override
+        public void reset(V v) {
+            assert adjacency.containsKey(v);
+            incident = adjacency.get(v);
+            i = -1;
+        }
+
+        @Override
+        public boolean next() {
+            return ++i < incident.size;
+        }
+
+        @Override
+        public V neighbor() {
+            return incident.neighbors[i];
+        }
+
+        @Override
+        public int weight() {
+            return incident.edges[i].getWeight();
+        }
+
+        @Override
+        public Edge<V> edge() {
+            return incident.edges[i];
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Totals and latency histogram of all the recorded calls of one algorithm, as a snapshot.
+ * Bucket i of the histogram counts the calls that took [2^(i-1), 2^i) nanoseconds, bucket 0 those that took 0.
+ */
+public class AlgorithmStats {
+    private final String name;
+    private final long calls;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long verticesSettled;
+    private final long edgesRelaxed;
+    private final long heapOperations;
+    private final long neighborCalls;
+    private final long allocatedBytes;
+    private final long[] latencyHistogram;
+
+    AlgorithmStats(String name, long calls, long totalNanos, long maxNanos, long verticesSettled, long edgesRelaxed,
+                   long heapOperations, long neighborCalls, long allocatedBytes, long[] latencyHistogram) {
+        this.name = name;
+        this.calls = calls;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.verticesSettled = verticesSettled;
+        this.edgesRelaxed = edgesRelaxed;
+        this.heapOperations = heapOperations;
+        this.neighborCalls = neighborCalls;
+        this.allocatedBytes = allocatedBytes;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    /** Return the name of the algorithm. */
+    public String getName() {
+        return name;
+    }
+
+    /** Return the number of recorded calls. */
+    public long getCalls() {
+        return calls;
+    }
+
+    /** Return the total wall time of the calls, in nanoseconds. */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /** Return the wall time of the slowest call, in nanoseconds. */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /** Return the total number of vertices settled or visited. */
+    public long getVerticesSettled() {
+        return verticesSettled;
+    }
+
+    /** Return the total number of edges relaxed or examined. */
+    public long getEdgesRelaxed() {
+        return edgesRelaxed;
+    }
+
+    /** Return the total number of heap operations. */
+    public long getHeapOperations() {
+        return heapOperations;
+    }
+
+    /** Return the total number of neighbors() and incidentEdges() calls. */
+    public long getNeighborCalls() {
+        return neighborCalls;
+    }
+
+    /** Return the total number of bytes allocated by the calls, not counting calls where the JVM cannot tell. */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /** Return the number of calls in every log2 latency bucket. */
+    public long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    /** Return the median latency, in nanoseconds, as the upper bound of its bucket. */
+    public long getP50Nanos() {
+        return percentileNanos(0.5);
+    }
+
+    /** Return the 99th percentile latency, in nanoseconds, as the upper bound of its bucket. */
+    public long getP99Nanos() {
+        return percentileNanos(0.99);
+    }
+
+    /**
+     * Return the latency that the specified fraction of the calls did not exceed, in nanoseconds,
+     * as the upper bound of its bucket, but no more than the slowest call. Return 0 if there are no calls.
+     */
+    public long percentileNanos(double fraction) {
+        long rank = (long) Math.ceil(fraction * calls);
+        long seen = 0;
+        for (int i = 0; i < latencyHistogram.length; i++) {
+            seen += latencyHistogram[i];
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : Math.min((1L << i) - 1, maxNanos);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d calls, p50 %.3f ms, p99 %.3f ms, max %.3f ms, %d settled, %d relaxed, "
+                        + "%d heap ops, %d neighbor calls, %d B allocated, histogram %s",
+                name, calls, getP50Nanos() / 1e6, getP99Nanos() / 1e6, maxNanos / 1e6, verticesSettled,
+                edgesRelaxed, heapOperations, neighborCalls, allocatedBytes, Arrays.toString(latencyHistogram));
+    }
+}
@@ -0,0 +1,40 @@
+package graphalgorithms;
+
+/**
+ * Result of a Breath-First traversal of a CSR graph, by vertex id.
+ * The arrays are returned as they are, without copying.
+ */
+public class BfsResult {
+    // Ids of the reached vertices in BFS order.
+    private final int[] order;
+    // Depth of every vertex, -1 if not reached.
+    private final int[] depth;
+    // Parent of every vertex in the BFS tree, -1 for the source and vertices not reached.
+    private final int[] parent;
+
+    BfsResult(int[] order, int[] depth, int[] parent) {
+        this.order = order;
+        this.depth = depth;
+        this.parent = parent;
+    }
+
+    /** Return the ids of the reached vertices, level by level from the source. */
+    public int[] order() {
+        return order;
+    }
+
+    /** Return the depth of every vertex, indexed by id, -1 for vertices not reached. */
+    public int[] depths() {
+        return depth;
+    }
+
+    /** Return the BFS tree parent of every vertex, indexed by id, -1 for the source and vertices not reached. */
+    public int[] parents() {
+        return parent;
+    }
+
+    /** Return the number of reached vertices. */
+    public int visitedCount() {
+        return order.length;
+    }
+}
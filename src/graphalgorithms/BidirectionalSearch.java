@@ -0,0 +1,144 @@
+package graphalgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Point-to-point shortest path search that grows one Dijkstra search from the source and one
+ * from the target, and stops when they meet. With a heuristic, both searches are A* searches
+ * on the average potential p(v) = (h(v, target) - h(source, v)) / 2 of Ikeda et al.,
+ * kept in doubled keys so they stay integral.
+ * Vertices get ids when a search discovers them, so the cost depends on the searched part only.
+ */
+class BidirectionalSearch<V> {
+    private final Graph<V> graph;
+    private final V source;
+    private final V target;
+    private final ToIntBiFunction<V, V> heuristic;
+    private final Map<V, Integer> ids;
+    private final List<V> vertices;
+    // Doubled potential h(v, target) - h(source, v) of every id.
+    private int[] potential;
+    private final Side forward;
+    private final Side backward;
+    private final NeighborCursor<V> neighbors;
+
+    BidirectionalSearch(Graph<V> graph, V source, V target, ToIntBiFunction<V, V> heuristic) {
+        this.graph = graph;
+        this.source = source;
+        this.target = target;
+        this.heuristic = heuristic;
+        ids = new HashMap<>();
+        vertices = new ArrayList<>();
+        potential = new int[16];
+        forward = new Side(1);
+        backward = new Side(-1);
+        neighbors = graph.neighborCursor();
+    }
+
+    GraphPath<V> search() {
+        if (source.equals(target)) return new GraphPath<>(source, target, new ArrayList<>(), 0);
+        int s = id(source);
+        int t = id(target);
+        forward.reach(s, 0, null);
+        backward.reach(t, 0, null);
+
+        // length of the best path seen so far, and the vertex where its two halves meet
+        long best = Long.MAX_VALUE;
+        int meeting = -1;
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            // in doubled reduced lengths, no path through unsettled vertices can be shorter than best
+            if (best != Long.MAX_VALUE && forward.heap.minKey() + backward.heap.minKey() >= 2 * best) break;
+            Side side = forward.heap.size() <= backward.heap.size() ? forward : backward;
+            Side other = side == forward ? backward : forward;
+
+            int u = side.heap.poll();
+            neighbors.reset(vertices.get(u));
+            while (neighbors.next()) {
+                int z = id(neighbors.neighbor());
+                long d = (long) side.distance(u) + neighbors.weight();
+                if (d < side.distance(z)) {
+                    // the edge is only made or looked up for the vertices whose distance improves
+                    side.reach(z, (int) d, neighbors.edge());
+                }
+                if (other.distance(z) != Integer.MAX_VALUE && d + other.distance(z) < best) {
+                    best = d + other.distance(z);
+                    meeting = z;
+                }
+            }
+        }
+        if (meeting < 0) return new GraphPath<>(source, target, new ArrayList<>(), Integer.MAX_VALUE);
+
+        List<Edge<V>> edges = new ArrayList<>();
+        for (int x = meeting; forward.via(x) != null; x = other(forward.via(x), x)) {
+            edges.add(forward.via(x));
+        }
+        Collections.reverse(edges);
+        for (int x = meeting; backward.via(x) != null; x = other(backward.via(x), x)) {
+            edges.add(backward.via(x));
+        }
+        return new GraphPath<>(source, target, edges, (int) best);
+    }
+
+    // Return the id of the end of the edge that is not the vertex with id x.
+    private int other(Edge<V> edge, int x) {
+        return ids.get(edge.getU().equals(vertices.get(x)) ? edge.getV() : edge.getU());
+    }
+
+    private int id(V v) {
+        Integer id = ids.get(v);
+        if (id != null) return id;
+        int newId = vertices.size();
+        ids.put(v, newId);
+        vertices.add(v);
+        if (newId == potential.length) {
+            potential = Arrays.copyOf(potential, 2 * newId);
+        }
+        potential[newId] = heuristic == null ? 0 : heuristic.applyAsInt(v, target) - heuristic.applyAsInt(source, v);
+        return newId;
+    }
+
+    // Distances, tree edges and heap of one of the two searches.
+    private class Side {
+        // 1 for the forward search, -1 for the backward search.
+        private final int sign;
+        private final IndexedMinHeap heap;
+        private int[] distance;
+        private Object[] via;
+
+        Side(int sign) {
+            this.sign = sign;
+            heap = new IndexedMinHeap(16);
+            distance = new int[16];
+            Arrays.fill(distance, Integer.MAX_VALUE);
+            via = new Object[16];
+        }
+
+        int distance(int id) {
+            return id < distance.length ? distance[id] : Integer.MAX_VALUE;
+        }
+
+        @SuppressWarnings("unchecked")
+        Edge<V> via(int id) {
+            return (Edge<V>) via[id];
+        }
+
+        // Lower the distance of id to d, reached by the specified edge.
+        void reach(int id, int d, Edge<V> edge) {
+            if (id >= distance.length) {
+                int oldLength = distance.length;
+                distance = Arrays.copyOf(distance, Math.max(2 * oldLength, id + 1));
+                Arrays.fill(distance, oldLength, distance.length, Integer.MAX_VALUE);
+                via = Arrays.copyOf(via, distance.length);
+            }
+            distance[id] = d;
+            via[id] = edge;
+            heap.insertOrDecrease(id, 2L * d + (long) sign * potential[id]);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package graphalgorithms;
+
+/**
+ * Work done by one instrumented algorithm call, counted while the call runs.
+ * Only created when Metrics is enabled.
+ */
+public class CallStats {
+    private final String algorithm;
+    private final long startNanos;
+    private final long startAllocated;
+    private long elapsedNanos;
+    private long allocatedBytes;
+
+    // Counted directly by the algorithms.
+    long verticesSettled;
+    long edgesRelaxed;
+    long heapOperations;
+    long neighborCalls;
+
+    CallStats(String algorithm, long startNanos, long startAllocated) {
+        this.algorithm = algorithm;
+        this.startNanos = startNanos;
+        this.startAllocated = startAllocated;
+    }
+
+    void finish(long endNanos, long endAllocated) {
+        elapsedNanos = endNanos - startNanos;
+        allocatedBytes = startAllocated < 0 ? -1 : endAllocated - startAllocated;
+    }
+
+    /** Return the name of the algorithm. */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /** Return the number of vertices settled (Dijkstra) or visited (traversals, MST). */
+    public long getVerticesSettled() {
+        return verticesSettled;
+    }
+
+    /** Return the number of edges relaxed (Dijkstra) or examined (traversals, MST). */
+    public long getEdgesRelaxed() {
+        return edgesRelaxed;
+    }
+
+    /** Return the number of heap inserts, decreases and polls. */
+    public long getHeapOperations() {
+        return heapOperations;
+    }
+
+    /** Return the number of neighbors() and incidentEdges() calls on the graph. */
+    public long getNeighborCalls() {
+        return neighborCalls;
+    }
+
+    /** Return the number of bytes allocated by the calling thread, or -1 if the JVM cannot tell. */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /** Return the wall time of the call, in nanoseconds. */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.3f ms, %d settled, %d relaxed, %d heap ops, %d neighbor calls, %d B allocated",
+                algorithm, elapsedNanos / 1e6, verticesSettled, edgesRelaxed, heapOperations, neighborCalls,
+                allocatedBytes);
+    }
+}
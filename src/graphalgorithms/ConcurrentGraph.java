@@ -0,0 +1,288 @@
+package graphalgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Thread-safe implementation of the graph interface, for many readers and a few writers.
+ * Every vertex keeps its incident edges in an array that is replaced, never changed, on every write,
+ * so neighbors, degree, incidentEdges and areAdjacent never lock or wait.
+ * Writers lock the stripes of the two ends of the edge, so writes to unrelated vertices run in parallel.
+ * A write costs O(deg) for the copy; a reader sees each vertex either before or after a write,
+ * but vertices() and edges() are not a snapshot of the whole graph.
+ */
+public class ConcurrentGraph<V> implements Graph<V> {
+    private static final int DEFAULT_STRIPES = 64;
+
+    // Map from every vertex in the graph to its incident edges.
+    private final ConcurrentHashMap<V, Adjacency<V>> adjacency;
+    // Writers of a vertex lock locks[stripe(v)].
+    private final Object[] locks;
+    private final AtomicInteger edgeCount;
+
+    //-----------------------------------------------------
+
+    /**
+     * Construct an empty ConcurrentGraph with the specified number of lock stripes,
+     * rounded up to a power of two.
+     */
+    public ConcurrentGraph(int stripes) {
+        if (stripes <= 0) throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        adjacency = new ConcurrentHashMap<>();
+        int size = 1;
+        while (size < stripes) size <<= 1;
+        locks = new Object[size];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        edgeCount = new AtomicInteger();
+    }
+
+    /** Construct an empty ConcurrentGraph. */
+    public ConcurrentGraph() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /** Return the number of edges in the graph. */
+    public int edgeCount() {
+        return edgeCount.get();
+    }
+
+    /** Return a list with the vertices in the graph. */
+    @Override
+    public List<V> vertices() {
+        return new ArrayList<>(adjacency.keySet());
+    }
+
+    /** Return a list with the edges in the graph. */
+    @Override
+    public List<Edge<V>> edges() {
+        List<Edge<V>> edges = new ArrayList<>(edgeCount.get());
+        for (Map.Entry<V, Adjacency<V>> entry : adjacency.entrySet()) {
+            V v = entry.getKey();
+            for (Edge<V> edge : entry.getValue().edges) {
+                // every edge is stored at both ends, only report it from its u end
+                if (edge.getU().equals(v)) {
+                    edges.add(edge);
+                }
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Return a list with the neighbors of the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<V> neighbors(V v) {
+        Edge<V>[] edges = edgesOf(v);
+        List<V> neighbors = new ArrayList<>(edges.length);
+        for (Edge<V> edge : edges) {
+            neighbors.add(opposite(edge, v));
+        }
+        return neighbors;
+    }
+
+    /**
+     * Return the degree for the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public int degree(V v) {
+        return edgesOf(v).length;
+    }
+
+    /**
+     * Return the incident edges to the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<Edge<V>> incidentEdges(V v) {
+        return new ArrayList<>(Arrays.asList(edgesOf(v)));
+    }
+
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+        for (Edge<V> edge : edgesOf(v)) {
+            action.accept(opposite(edge, v), edge.getWeight());
+        }
+    }
+
+    /**
+     * Return a new cursor over the neighbors of the vertices in the graph.
+     * Reset it to a vertex before use; it can be reused for any number of vertices.
+     */
+    @Override
+    public NeighborCursor<V> neighborCursor() {
+        return new EdgeArrayCursor<>(this::edgesOf);
+    }
+
+    /**
+     * Return true, if the specified vertices are neighbors.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public boolean areAdjacent(V u, V v) {
+        Edge<V>[] uEdges = edgesOf(u);
+        Edge<V>[] vEdges = edgesOf(v);
+        // scan the shorter array
+        return uEdges.length <= vEdges.length ? indexOf(uEdges, u, v) >= 0 : indexOf(vEdges, v, u) >= 0;
+    }
+
+    /**
+     * Return the edge between the specified vertices, or null if they are not adjacent.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public Edge<V> getEdge(V u, V v) {
+        Edge<V>[] uEdges = edgesOf(u);
+        int i = indexOf(uEdges, u, v);
+        return i < 0 ? null : uEdges[i];
+    }
+
+    /** Print the vertices and the edges. */
+    @Override
+    public void printGraph() {
+        System.out.println("Vertices: " + vertices());
+        System.out.println("Edges: " + edges());
+    }
+
+    /**
+     * Add a vertex to the graph.
+     * Pre: The vertex is not in the graph before this addition.
+     */
+    @Override
+    public void addVertex(V v) {
+        Adjacency<V> previous = adjacency.putIfAbsent(v, new Adjacency<>());
+        assert previous == null;
+    }
+
+    /**
+     * Add an edge with the specified weight between the specified vertices to the graph.
+     * Pre: Before addition, the vertices are in the graph, and the edge is not in the graph.
+     * Pre: The weight is not negative.
+     */
+    @Override
+    public Edge<V> addEdge(V u, V v, int weight) {
+        assert weight >= 0;
+        Adjacency<V> uAdjacency = adjacency.get(u);
+        Adjacency<V> vAdjacency = adjacency.get(v);
+        assert uAdjacency != null && vAdjacency != null;
+        Edge<V> edge = new Edge<>(u, v, weight);
+        int uStripe = stripe(u);
+        int vStripe = stripe(v);
+        Object first = locks[Math.min(uStripe, vStripe)];
+        Object second = locks[Math.max(uStripe, vStripe)];
+        // every writer locks the lower stripe first, so writers cannot deadlock
+        synchronized (first) {
+            synchronized (second) {
+                assert indexOf(uAdjacency.edges, u, v) < 0;
+                uAdjacency.edges = with(uAdjacency.edges, edge);
+                if (uAdjacency != vAdjacency) {
+                    vAdjacency.edges = with(vAdjacency.edges, edge);
+                }
+            }
+        }
+        edgeCount.incrementAndGet();
+        return edge;
+    }
+
+    /**
+     * Add an edge with weight 0 between the specified vertices to the graph.
+     * Pre: Before addition, the vertices are in the graph, and the edge is not in the graph.
+     */
+    @Override
+    public Edge<V> addEdge(V u, V v) {
+        return addEdge(u, v, 0);
+    }
+
+    /**
+     * Remove the specified vertex from the graph.
+     * Pre: The vertex is in the graph, and the vertex has no incident edges.
+     */
+    @Override
+    public void removeVertex(V v) {
+        synchronized (locks[stripe(v)]) {
+            Adjacency<V> removed = adjacency.remove(v);
+            assert removed != null && removed.edges.length == 0;
+        }
+    }
+
+    /**
+     * Remove the edge between the specified vertices from the graph.
+     * Pre: The vertices are vertices in the graph,
+     *   and The graph has an edge between the vertices.
+     */
+    @Override
+    public void removeEdge(V u, V v) {
+        Adjacency<V> uAdjacency = adjacency.get(u);
+        Adjacency<V> vAdjacency = adjacency.get(v);
+        assert uAdjacency != null && vAdjacency != null;
+        int uStripe = stripe(u);
+        int vStripe = stripe(v);
+        Object first = locks[Math.min(uStripe, vStripe)];
+        Object second = locks[Math.max(uStripe, vStripe)];
+        synchronized (first) {
+            synchronized (second) {
+                int i = indexOf(uAdjacency.edges, u, v);
+                assert i >= 0;
+                uAdjacency.edges = without(uAdjacency.edges, i);
+                if (uAdjacency != vAdjacency) {
+                    vAdjacency.edges = without(vAdjacency.edges, indexOf(vAdjacency.edges, v, u));
+                }
+            }
+        }
+        edgeCount.decrementAndGet();
+    }
+
+    private Edge<V>[] edgesOf(V v) {
+        Adjacency<V> vAdjacency = adjacency.get(v);
+        assert vAdjacency != null;
+        return vAdjacency.edges;
+    }
+
+    private int stripe(V v) {
+        int h = v.hashCode();
+        return (h ^ (h >>> 16)) & (locks.length - 1);
+    }
+
+    private static <V> V opposite(Edge<V> edge, V v) {
+        return edge.getU().equals(v) ? edge.getV() : edge.getU();
+    }
+
+    // Return the index of the edge to v among the edges of u, or -1 if there is none.
+    private static <V> int indexOf(Edge<V>[] edges, V u, V v) {
+        for (int i = 0; i < edges.length; i++) {
+            if (opposite(edges[i], u).equals(v)) return i;
+        }
+        return -1;
+    }
+
+    private static <V> Edge<V>[] with(Edge<V>[] edges, Edge<V> edge) {
+        Edge<V>[] copy = Arrays.copyOf(edges, edges.length + 1);
+        copy[edges.length] = edge;
+        return copy;
+    }
+
+    private static <V> Edge<V>[] without(Edge<V>[] edges, int i) {
+        Edge<V>[] copy = Arrays.copyOf(edges, edges.length - 1);
+        if (i < copy.length) copy[i] = edges[edges.length - 1];
+        return copy;
+    }
+
+    // Incident edges of a vertex; the array is never changed after it is published.
+    private static class Adjacency<V> {
+        @SuppressWarnings("unchecked")
+        volatile Edge<V>[] edges = (Edge<V>[]) new Edge<?>[0];
+    }
+}
@@ -0,0 +1,228 @@
+package graphalgorithms;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The connected components of a graph. Every vertex is labeled with its component once,
+ * after which reachability queries are constant time lookups.
+ * The labels describe the graph at the time they were computed.
+ */
+public class ConnectedComponents<V> {
+    // Id for every vertex.
+    private final Map<V, Integer> ids;
+    // Component number (0..count()-1) of every vertex id.
+    private final int[] component;
+    // Number of vertices in every component.
+    private final int[] sizes;
+
+    // Number the components by the representative (root) of every vertex id.
+    private ConnectedComponents(Map<V, Integer> ids, int[] root) {
+        this.ids = ids;
+        component = new int[root.length];
+        int[] number = new int[root.length];
+        int count = 0;
+        for (int i = 0; i < root.length; i++) {
+            if (root[i] == i) number[i] = count++;
+        }
+        sizes = new int[count];
+        for (int i = 0; i < root.length; i++) {
+            component[i] = number[root[i]];
+            sizes[component[i]]++;
+        }
+    }
+
+    /** Return the connected components of the specified graph, found with union-find over its edges. */
+    public static <V> ConnectedComponents<V> of(Graph<V> graph) {
+        List<V> vertices = graph.vertices();
+        Map<V, Integer> ids = new HashMap<>(vertices.size() * 2);
+        for (int i = 0; i < vertices.size(); i++) {
+            ids.put(vertices.get(i), i);
+        }
+        UnionFind sets = new UnionFind(vertices.size());
+        for (Edge<V> edge : graph.edges()) {
+            sets.union(ids.get(edge.getU()), ids.get(edge.getV()));
+        }
+        return new ConnectedComponents<>(ids, roots(sets));
+    }
+
+    /** Return the connected components of the specified CSR graph, found with union-find over its arcs. */
+    public static <V> ConnectedComponents<V> of(CsrGraph<V> graph) {
+        UnionFind sets = new UnionFind(graph.vertexCount());
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            for (int arc = graph.offsets[v]; arc < graph.offsets[v + 1]; arc++) {
+                sets.union(v, graph.targets[arc]);
+            }
+        }
+        return new ConnectedComponents<>(graph.ids, roots(sets));
+    }
+
+    /**
+     * Return the connected components of the specified CSR graph, found in parallel on the
+     * specified fork-join pool. Every vertex starts labeled with its own id; then rounds of
+     * lowering every label to the smallest label among the neighbors, each followed by
+     * pointer jumping (label = label of label), run until no label changes
+     * (label propagation with the shortcutting of Shiloach-Vishkin).
+     */
+    public static <V> ConnectedComponents<V> parallel(CsrGraph<V> graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        AtomicIntegerArray label = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            label.set(i, i);
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = pool.invoke(new Propagate(graph.offsets, graph.targets, label, 0, n));
+            pool.invoke(new Shortcut(label, 0, n));
+        }
+        int[] root = new int[n];
+        for (int i = 0; i < n; i++) {
+            root[i] = label.get(i);
+        }
+        return new ConnectedComponents<>(graph.ids, root);
+    }
+
+    private static int[] roots(UnionFind sets) {
+        int[] root = new int[sets.size()];
+        for (int i = 0; i < root.length; i++) {
+            root[i] = sets.find(i);
+        }
+        return root;
+    }
+
+    /** Return the number of connected components. */
+    public int count() {
+        return sizes.length;
+    }
+
+    /** Return true if there is only one connected component (or none in an empty graph). */
+    public boolean isConnected() {
+        return sizes.length <= 1;
+    }
+
+    /**
+     * Return true if the graph has a path between the specified vertices.
+     * Throw exception if the vertices are not in the graph.
+     */
+    public boolean connected(V u, V v) {
+        return component[id(u)] == component[id(v)];
+    }
+
+    /**
+     * Return the number (0..count()-1) of the component of the specified vertex.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public int componentOf(V v) {
+        return component[id(v)];
+    }
+
+    /**
+     * Return the number of vertices in the component of the specified vertex.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public int componentSize(V v) {
+        return sizes[component[id(v)]];
+    }
+
+    /** Return the number of vertices in every component, indexed by component number. */
+    public int[] componentSizes() {
+        return sizes.clone();
+    }
+
+    /** Return a map from component size to the number of components of that size. */
+    public SortedMap<Integer, Integer> sizeHistogram() {
+        SortedMap<Integer, Integer> histogram = new TreeMap<>();
+        for (int size : sizes) {
+            histogram.merge(size, 1, Integer::sum);
+        }
+        return histogram;
+    }
+
+    private int id(V v) {
+        Integer id = ids.get(v);
+        if (id == null) throw new NoSuchElementException();
+        return id;
+    }
+
+    // Lower the labels of the vertices [from, to) to the smallest neighbor label. Return true if any changed.
+    @SuppressWarnings("serial") // never serialized
+    private static class Propagate extends RecursiveTask<Boolean> {
+        private static final int GRAIN = 4096;
+        private final int[] offsets;
+        private final int[] targets;
+        private final AtomicIntegerArray label;
+        private final int from;
+        private final int to;
+
+        Propagate(int[] offsets, int[] targets, AtomicIntegerArray label, int from, int to) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.label = label;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (to - from > GRAIN) {
+                int middle = (from + to) >>> 1;
+                Propagate left = new Propagate(offsets, targets, label, from, middle);
+                left.fork();
+                boolean right = new Propagate(offsets, targets, label, middle, to).compute();
+                return left.join() | right;
+            }
+            boolean changed = false;
+            for (int v = from; v < to; v++) {
+                int min = label.get(v);
+                for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                    min = Math.min(min, label.get(targets[arc]));
+                }
+                // only this task writes label[v] in this round, Shortcut runs afterwards
+                if (min < label.get(v)) {
+                    label.set(v, min);
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+    }
+
+    // Point the labels of the vertices [from, to) directly at the root of their label chain.
+    @SuppressWarnings("serial") // never serialized
+    private static class Shortcut extends RecursiveTask<Void> {
+        private static final int GRAIN = 4096;
+        private final AtomicIntegerArray label;
+        private final int from;
+        private final int to;
+
+        Shortcut(AtomicIntegerArray label, int from, int to) {
+            this.label = label;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from > GRAIN) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Shortcut(label, from, middle), new Shortcut(label, middle, to));
+                return null;
+            }
+            for (int v = from; v < to; v++) {
+                int l = label.get(v);
+                while (label.get(l) != l) {
+                    l = label.get(l);
+                }
+                label.set(v, l);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package graphalgorithms;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Connectivity of an ObservableGraph, kept up to date as the graph changes.
+ * Added vertices and edges are merged into a union-find at once. An edge removal may split a
+ * component, so it only marks the index as stale; the next query rebuilds it from the graph,
+ * once for any number of removals in between.
+ * Between removals, connected, isConnected and count run in near-constant time.
+ */
+public final class ConnectivityIndex<V> implements GraphListener<V> {
+    private final ObservableGraph<V> graph;
+    // Union-find element of every vertex.
+    private Map<V, Integer> ids;
+    private UnionFind sets;
+    // Elements of removed vertices, which are singleton sets that must not be counted.
+    private int removed;
+    // True if an edge was removed since the last rebuild.
+    private boolean stale;
+    private int rebuilds;
+
+    /** Construct a connectivity index of the specified graph, and register it as a listener. */
+    public ConnectivityIndex(ObservableGraph<V> graph) {
+        this.graph = graph;
+        rebuild();
+        graph.addListener(this);
+    }
+
+    /** Stop following the changes to the graph. */
+    public void close() {
+        graph.removeListener(this);
+    }
+
+    /**
+     * Return true if the graph has a path between the specified vertices.
+     * Throw exception if the vertices are not in the graph.
+     */
+    public boolean connected(V u, V v) {
+        if (stale) rebuild();
+        return sets.connected(id(u), id(v));
+    }
+
+    /** Return true if the graph is connected. */
+    public boolean isConnected() {
+        return count() <= 1;
+    }
+
+    /** Return the number of connected components of the graph. */
+    public int count() {
+        if (stale) rebuild();
+        return sets.count() - removed;
+    }
+
+    /** Return the number of times the index has been rebuilt from the graph. */
+    public int rebuilds() {
+        return rebuilds;
+    }
+
+    @Override
+    public void vertexAdded(V v) {
+        if (stale) return;
+        ids.put(v, sets.add());
+    }
+
+    @Override
+    public void vertexRemoved(V v) {
+        if (stale) return;
+        // without incident edges, and no edge removed since the rebuild, the vertex is a singleton
+        ids.remove(v);
+        removed++;
+    }
+
+    @Override
+    public void edgeAdded(Edge<V> edge) {
+        if (stale) return;
+        sets.union(ids.get(edge.getU()), ids.get(edge.getV()));
+    }
+
+    @Override
+    public void edgeRemoved(V u, V v) {
+        stale = true;
+    }
+
+    private void rebuild() {
+        List<V> vertices = graph.vertices();
+        ids = new HashMap<>(vertices.size() * 2);
+        for (int i = 0; i < vertices.size(); i++) {
+            ids.put(vertices.get(i), i);
+        }
+        sets = new UnionFind(vertices.size());
+        for (Edge<V> edge : graph.edges()) {
+            sets.union(ids.get(edge.getU()), ids.get(edge.getV()));
+        }
+        removed = 0;
+        stale = false;
+        rebuilds++;
+    }
+
+    private int id(V v) {
+        Integer id = ids.get(v);
+        if (id == null) throw new NoSuchElementException();
+        return id;
+    }
+}
@@ -0,0 +1,536 @@
+package graphalgorithms;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Contraction hierarchy of a graph, for fast exact point-to-point shortest paths.
+ * Preprocessing contracts the vertices one at a time, least important first, and adds a shortcut
+ * between two neighbors of a contracted vertex when the path through it may be their only shortest path.
+ * Every vertex keeps only its upward arcs, to vertices contracted after it, so a query is
+ * a bidirectional Dijkstra search that only climbs the hierarchy and visits a small part of the graph.
+ * Contraction stops if the remaining graph gets too dense or the shortcuts outnumber the edges of the graph,
+ * and the remaining core is searched like an ordinary graph.
+ * Road-like graphs contract almost completely; random graphs leave a large core, so preprocessing stays bounded
+ * but queries between core vertices are close to a plain bidirectional Dijkstra.
+ * The hierarchy is a snapshot: later changes to the graph are not seen.
+ * Every query running at the same time needs its own search state of about 56 bytes per vertex.
+ * The states are pooled and kept as long as the hierarchy, so the memory of the pool is set
+ * by the largest number of concurrent queries, not by the number of threads that ever queried.
+ */
+public class ContractionHierarchy<V> {
+    // "CH01", first int of the serialized form.
+    private static final int MAGIC = 0x43483031;
+    // A witness search gives up after scanning this many arcs, and the shortcut is kept.
+    // The limit bounds the work in dense parts of the graph, where degrees grow as vertices are contracted.
+    // Estimating the importance of a vertex uses a smaller limit than contracting it.
+    private static final int WITNESS_ARC_LIMIT = 4000;
+    private static final int ESTIMATE_ARC_LIMIT = 400;
+    // Contraction stops when the least important vertex has more neighbors than this,
+    private static final int CORE_DEGREE = 128;
+    // or the remaining vertices have more neighbors on average than this many times the average of the graph,
+    private static final int CORE_DEGREE_RATIO = 4;
+    // or the shortcuts outnumber the edges of the graph this many times.
+    private static final int SHORTCUT_RATIO = 2;
+
+    // Vertex for every id.
+    private final V[] vertices;
+    // Id for every vertex.
+    private final Map<V, Integer> ids;
+    // Upward arcs of vertex id are in targets[offsets[id]..offsets[id+1]); core vertices have arcs to all core neighbors.
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    // Contracted vertex bypassed by every arc, -1 for an edge of the graph.
+    private final int[] middles;
+    private final int shortcutCount;
+    private final int coreSize;
+    // Search states not used by a query at the moment.
+    private final ConcurrentLinkedQueue<Search> searches;
+
+    //-----------------------------------------------------
+
+    private ContractionHierarchy(V[] vertices, Map<V, Integer> ids, int coreSize,
+                                 int[] offsets, int[] targets, int[] weights, int[] middles) {
+        this.vertices = vertices;
+        this.ids = ids;
+        this.coreSize = coreSize;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.middles = middles;
+        int shortcuts = 0;
+        for (int middle : middles) {
+            if (middle >= 0) shortcuts++;
+        }
+        shortcutCount = shortcuts;
+        searches = new ConcurrentLinkedQueue<>();
+    }
+
+    /** Return the contraction hierarchy of the specified graph. */
+    public static <V> ContractionHierarchy<V> of(Graph<V> graph) {
+        return of(CsrGraph.of(graph));
+    }
+
+    /** Return the contraction hierarchy of the specified CSR graph. */
+    public static <V> ContractionHierarchy<V> of(CsrGraph<V> graph) {
+        Contraction contraction = new Contraction(graph);
+        contraction.run();
+        int n = graph.vertexCount();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + contraction.degree[v];
+        }
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        int[] middles = new int[offsets[n]];
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(contraction.targets[v], 0, targets, offsets[v], contraction.degree[v]);
+            System.arraycopy(contraction.weights[v], 0, weights, offsets[v], contraction.degree[v]);
+            System.arraycopy(contraction.middles[v], 0, middles, offsets[v], contraction.degree[v]);
+        }
+        return new ContractionHierarchy<>(graph.vertices, graph.ids, contraction.coreSize, offsets, targets, weights, middles);
+    }
+
+    /** Return the number of vertices. */
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    /** Return the number of shortcuts added by the preprocessing. */
+    public int shortcutCount() {
+        return shortcutCount;
+    }
+
+    /** Return the number of vertices left uncontracted in the core of the hierarchy. */
+    public int coreSize() {
+        return coreSize;
+    }
+
+    /**
+     * Return the total weight of the shortest path from the source vertex to the target vertex,
+     * Integer.MAX_VALUE if there is no path.
+     * Throw exception if the vertices are not in the graph.
+     */
+    public int distance(V source, V target) {
+        int s = id(source);
+        int t = id(target);
+        Search search = acquire();
+        search.run(s, t);
+        int distance = search.best;
+        release(search);
+        return distance;
+    }
+
+    /**
+     * Return the shortest path from the source vertex to the target vertex,
+     * with the shortcuts replaced by the edges they stand for.
+     * Throw exception if the vertices are not in the graph.
+     */
+    public GraphPath<V> shortestPath(V source, V target) {
+        int s = id(source);
+        int t = id(target);
+        Search search = acquire();
+        search.run(s, t);
+        List<Edge<V>> edges = new ArrayList<>();
+        if (search.meeting >= 0) {
+            for (int x = search.meeting; x != s; x = search.forwardParent[x]) {
+                int arc = search.forwardArc[x];
+                unpack(x, search.forwardParent[x], weights[arc], middles[arc], edges);
+            }
+            Collections.reverse(edges);
+            for (int x = search.meeting; x != t; x = search.backwardParent[x]) {
+                int arc = search.backwardArc[x];
+                unpack(x, search.backwardParent[x], weights[arc], middles[arc], edges);
+            }
+        }
+        GraphPath<V> path = new GraphPath<>(source, target, edges, search.best);
+        release(search);
+        return path;
+    }
+
+    /**
+     * Write the hierarchy to the specified stream. Vertices are written as their toString.
+     * The stream is flushed, not closed.
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(vertices.length);
+        out.writeInt(coreSize);
+        out.writeInt(targets.length);
+        for (V v : vertices) {
+            out.writeUTF(String.valueOf(v));
+        }
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        for (int arc = 0; arc < targets.length; arc++) {
+            out.writeInt(targets[arc]);
+            out.writeInt(weights[arc]);
+            out.writeInt(middles[arc]);
+        }
+        out.flush();
+    }
+
+    /**
+     * Read a hierarchy written by write, turning the vertex strings back into vertices with parser.
+     * Throw exception if the stream does not hold a hierarchy.
+     */
+    public static <V> ContractionHierarchy<V> read(InputStream stream, Function<String, V> parser) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) throw new IOException("Not a contraction hierarchy");
+        int n = in.readInt();
+        int coreSize = in.readInt();
+        int arcs = in.readInt();
+        @SuppressWarnings("unchecked")
+        V[] vertices = (V[]) new Object[n];
+        Map<V, Integer> ids = new HashMap<>(2 * n);
+        for (int v = 0; v < n; v++) {
+            vertices[v] = parser.apply(in.readUTF());
+            ids.put(vertices[v], v);
+        }
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v <= n; v++) {
+            offsets[v] = in.readInt();
+        }
+        int[] targets = new int[arcs];
+        int[] weights = new int[arcs];
+        int[] middles = new int[arcs];
+        for (int arc = 0; arc < arcs; arc++) {
+            targets[arc] = in.readInt();
+            weights[arc] = in.readInt();
+            middles[arc] = in.readInt();
+        }
+        return new ContractionHierarchy<>(vertices, ids, coreSize, offsets, targets, weights, middles);
+    }
+
+    // Return a search state from the pool, or a new one if all are in use.
+    private Search acquire() {
+        Search search = searches.poll();
+        return search != null ? search : new Search(vertices.length);
+    }
+
+    // Reset the search state and put it back in the pool.
+    private void release(Search search) {
+        search.reset();
+        searches.add(search);
+    }
+
+    private int id(V v) {
+        Integer id = ids.get(v);
+        if (id == null) throw new NoSuchElementException();
+        return id;
+    }
+
+    // Add the edges from a to b that the arc between them stands for, in order from a.
+    private void unpack(int a, int b, int weight, int middle, List<Edge<V>> edges) {
+        if (middle < 0) {
+            edges.add(new Edge<>(vertices[a], vertices[b], weight));
+            return;
+        }
+        // the middle vertex was contracted before a and b, so it has upward arcs to both
+        int toA = arcBetween(middle, a);
+        int toB = arcBetween(middle, b);
+        unpack(a, middle, weights[toA], middles[toA], edges);
+        unpack(middle, b, weights[toB], middles[toB], edges);
+    }
+
+    // Return the upward arc from lower to upper.
+    private int arcBetween(int lower, int upper) {
+        for (int arc = offsets[lower]; arc < offsets[lower + 1]; arc++) {
+            if (targets[arc] == upper) return arc;
+        }
+        throw new IllegalStateException("Missing arc " + lower + "-" + upper);
+    }
+
+    // Bidirectional upward search, with arrays for every vertex that are reset after each query.
+    private final class Search {
+        final int[] forwardDistance;
+        final int[] backwardDistance;
+        // Parent vertex and the arc from it, on the tree of each search.
+        final int[] forwardParent;
+        final int[] forwardArc;
+        final int[] backwardParent;
+        final int[] backwardArc;
+        final IndexedMinHeap forwardHeap;
+        final IndexedMinHeap backwardHeap;
+        // Vertices with a distance set by the current query.
+        final IntList touched;
+        int best;
+        int meeting;
+
+        Search(int n) {
+            forwardDistance = new int[n];
+            backwardDistance = new int[n];
+            Arrays.fill(forwardDistance, Integer.MAX_VALUE);
+            Arrays.fill(backwardDistance, Integer.MAX_VALUE);
+            forwardParent = new int[n];
+            forwardArc = new int[n];
+            backwardParent = new int[n];
+            backwardArc = new int[n];
+            forwardHeap = new IndexedMinHeap(n);
+            backwardHeap = new IndexedMinHeap(n);
+            touched = new IntList();
+        }
+
+        void run(int s, int t) {
+            best = Integer.MAX_VALUE;
+            meeting = -1;
+            reach(forwardDistance, forwardParent, forwardArc, forwardHeap, s, 0, -1, -1);
+            reach(backwardDistance, backwardParent, backwardArc, backwardHeap, t, 0, -1, -1);
+            while (true) {
+                // a search is done when it cannot improve on the best path any more
+                boolean forwardDone = forwardHeap.isEmpty() || forwardHeap.minKey() >= best;
+                boolean backwardDone = backwardHeap.isEmpty() || backwardHeap.minKey() >= best;
+                if (forwardDone && backwardDone) break;
+                if (backwardDone || !forwardDone && forwardHeap.minKey() <= backwardHeap.minKey()) {
+                    settle(forwardDistance, forwardParent, forwardArc, forwardHeap, backwardDistance);
+                } else {
+                    settle(backwardDistance, backwardParent, backwardArc, backwardHeap, forwardDistance);
+                }
+            }
+        }
+
+        private void settle(int[] distance, int[] parent, int[] via, IndexedMinHeap heap, int[] otherDistance) {
+            int u = heap.poll();
+            if (otherDistance[u] != Integer.MAX_VALUE && (long) distance[u] + otherDistance[u] < best) {
+                best = distance[u] + otherDistance[u];
+                meeting = u;
+            }
+            // stall on demand: a shorter path to u down from a higher vertex means no shortest path climbs through u
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int z = targets[arc];
+                if (distance[z] != Integer.MAX_VALUE && (long) distance[z] + weights[arc] < distance[u]) return;
+            }
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int z = targets[arc];
+                long d = (long) distance[u] + weights[arc];
+                if (d < distance[z]) {
+                    reach(distance, parent, via, heap, z, (int) d, u, arc);
+                }
+            }
+        }
+
+        private void reach(int[] distance, int[] parent, int[] via, IndexedMinHeap heap,
+                           int z, int d, int from, int arc) {
+            if (forwardDistance[z] == Integer.MAX_VALUE && backwardDistance[z] == Integer.MAX_VALUE) {
+                touched.add(z);
+            }
+            distance[z] = d;
+            parent[z] = from;
+            via[z] = arc;
+            heap.insertOrDecrease(z, d);
+        }
+
+        // Make the arrays ready for the next query.
+        void reset() {
+            for (int i = 0; i < touched.size(); i++) {
+                forwardDistance[touched.get(i)] = Integer.MAX_VALUE;
+                backwardDistance[touched.get(i)] = Integer.MAX_VALUE;
+            }
+            touched.clear();
+            forwardHeap.clear();
+            backwardHeap.clear();
+        }
+    }
+
+    // Preprocessing state: the remaining graph as growable adjacency arrays.
+    // When a vertex is contracted its arrays are frozen and hold exactly its upward arcs.
+    private static final class Contraction {
+        final int n;
+        final int[][] targets;
+        final int[][] weights;
+        final int[][] middles;
+        final int[] degree;
+        // Number of vertices left uncontracted.
+        int coreSize;
+        // Arcs between uncontracted vertices, and shortcuts added so far.
+        long liveArcs;
+        long shortcutCount;
+        // Number of contracted neighbors of every vertex, part of its importance.
+        final int[] contractedNeighbors;
+        // Witness search state, reset after each search.
+        final int[] witnessDistance;
+        final IntList witnessTouched;
+        final IndexedMinHeap witnessHeap;
+
+        Contraction(CsrGraph<?> graph) {
+            n = graph.vertexCount();
+            targets = new int[n][];
+            weights = new int[n][];
+            middles = new int[n][];
+            degree = new int[n];
+            for (int v = 0; v < n; v++) {
+                int capacity = Math.max(graph.degree(v), 2);
+                targets[v] = new int[capacity];
+                weights[v] = new int[capacity];
+                middles[v] = new int[capacity];
+            }
+            for (int v = 0; v < n; v++) {
+                for (int arc = graph.firstArc(v); arc < graph.endArc(v); arc++) {
+                    int z = graph.target(arc);
+                    // each edge is added from its smaller end, self loops are never on a shortest path
+                    if (v < z) addEdge(v, z, graph.weight(arc), -1);
+                }
+            }
+            contractedNeighbors = new int[n];
+            witnessDistance = new int[n];
+            Arrays.fill(witnessDistance, Integer.MAX_VALUE);
+            witnessTouched = new IntList();
+            witnessHeap = new IndexedMinHeap(n);
+        }
+
+        void run() {
+            // lazy updates: a vertex is contracted only if it is still least important when recomputed
+            IndexedMinHeap order = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                order.insert(v, importance(v));
+            }
+            long edges = liveArcs / 2;
+            // most arcs per remaining vertex before the rest counts as too dense
+            double coreArcs = CORE_DEGREE_RATIO * (double) liveArcs / Math.max(n, 1);
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                long importance = importance(v);
+                int remaining = order.size() + 1;
+                if (!order.isEmpty() && importance > order.minKey()) {
+                    order.insert(v, importance);
+                } else if (degree[v] > CORE_DEGREE || liveArcs > coreArcs * remaining
+                        || shortcutCount > SHORTCUT_RATIO * edges) {
+                    // the rest is too dense to contract; it stays as the core, with arcs both ways
+                    coreSize = remaining;
+                    return;
+                } else {
+                    contract(v);
+                }
+            }
+        }
+
+        // Edge difference plus contracted neighbors, which spreads the contraction over the graph.
+        private long importance(int v) {
+            return shortcuts(v, false) - degree[v] + contractedNeighbors[v];
+        }
+
+        private void contract(int v) {
+            shortcuts(v, true);
+            for (int i = 0; i < degree[v]; i++) {
+                int u = targets[v][i];
+                removeArc(u, v);
+                contractedNeighbors[u]++;
+            }
+            // the arcs of v stay as its upward arcs
+            liveArcs -= degree[v];
+        }
+
+        // Return the number of shortcuts needed to contract v, and add them if add is true.
+        private int shortcuts(int v, boolean add) {
+            int count = 0;
+            for (int i = 0; i < degree[v] - 1; i++) {
+                int u = targets[v][i];
+                long limit = 0;
+                for (int j = i + 1; j < degree[v]; j++) {
+                    limit = Math.max(limit, (long) weights[v][i] + weights[v][j]);
+                }
+                witnessSearch(u, v, limit, add ? WITNESS_ARC_LIMIT : ESTIMATE_ARC_LIMIT);
+                for (int j = i + 1; j < degree[v]; j++) {
+                    long through = (long) weights[v][i] + weights[v][j];
+                    if (witnessDistance[targets[v][j]] > through) {
+                        count++;
+                        if (add) addEdge(u, targets[v][j], (int) through, v);
+                    }
+                }
+                resetWitnessSearch();
+            }
+            return count;
+        }
+
+        // Dijkstra from source avoiding the vertex skip, up to distance limit or arcLimit scanned arcs.
+        private void witnessSearch(int source, int skip, long limit, int arcLimit) {
+            witnessDistance[source] = 0;
+            witnessTouched.add(source);
+            witnessHeap.insert(source, 0);
+            int scanned = 0;
+            while (!witnessHeap.isEmpty() && witnessHeap.minKey() <= limit && scanned < arcLimit) {
+                int x = witnessHeap.poll();
+                scanned += degree[x];
+                for (int k = 0; k < degree[x]; k++) {
+                    int y = targets[x][k];
+                    if (y == skip) continue;
+                    long d = (long) witnessDistance[x] + weights[x][k];
+                    if (d < witnessDistance[y]) {
+                        if (witnessDistance[y] == Integer.MAX_VALUE) witnessTouched.add(y);
+                        witnessDistance[y] = (int) d;
+                        witnessHeap.insertOrDecrease(y, d);
+                    }
+                }
+            }
+        }
+
+        private void resetWitnessSearch() {
+            for (int i = 0; i < witnessTouched.size(); i++) {
+                witnessDistance[witnessTouched.get(i)] = Integer.MAX_VALUE;
+            }
+            witnessTouched.clear();
+            witnessHeap.clear();
+        }
+
+        // Add the edge between a and b, or lower its weight if it is already there with a larger weight.
+        private void addEdge(int a, int b, int weight, int middle) {
+            boolean added = addArc(a, b, weight, middle);
+            addArc(b, a, weight, middle);
+            if (added && middle >= 0) shortcutCount++;
+        }
+
+        // Return true if the arc is new.
+        private boolean addArc(int a, int b, int weight, int middle) {
+            for (int i = 0; i < degree[a]; i++) {
+                if (targets[a][i] == b) {
+                    if (weight < weights[a][i]) {
+                        weights[a][i] = weight;
+                        middles[a][i] = middle;
+                    }
+                    return false;
+                }
+            }
+            if (degree[a] == targets[a].length) {
+                targets[a] = Arrays.copyOf(targets[a], 2 * degree[a]);
+                weights[a] = Arrays.copyOf(weights[a], 2 * degree[a]);
+                middles[a] = Arrays.copyOf(middles[a], 2 * degree[a]);
+            }
+            targets[a][degree[a]] = b;
+            weights[a][degree[a]] = weight;
+            middles[a][degree[a]] = middle;
+            degree[a]++;
+            liveArcs++;
+            return true;
+        }
+
+        private void removeArc(int a, int b) {
+            for (int i = 0; i < degree[a]; i++) {
+                if (targets[a][i] == b) {
+                    degree[a]--;
+                    targets[a][i] = targets[a][degree[a]];
+                    weights[a][i] = weights[a][degree[a]];
+                    middles[a][i] = middles[a][degree[a]];
+                    liveArcs--;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable compressed sparse row (CSR) snapshot of a graph.
+ * The vertices are numbered 0..vertexCount()-1, and the arcs leaving vertex id
+ * are stored in targets[offsets[id]..offsets[id+1]) with matching weights.
+ * Every undirected edge is stored as two arcs, a self loop as one arc.
+ * As an IntGraph, the i'th neighbor of a vertex is the target of its i'th arc.
+ */
+public class CsrGraph<V> implements IntGraph {
+    // Vertex for every id.
+    final V[] vertices;
+    // Id for every vertex.
+    final Map<V, Integer> ids;
+    // Start of the arcs of every vertex, offsets[vertexCount()] is the number of arcs.
+    final int[] offsets;
+    // Target vertex id of every arc.
+    final int[] targets;
+    // Weight of every arc.
+    final int[] weights;
+    private final int edgeCount;
+
+    //-----------------------------------------------------
+
+    private CsrGraph(List<V> vertexList, Map<V, Integer> ids, int edgeCount, int[] us, int[] vs, int[] ws) {
+        @SuppressWarnings("unchecked")
+        V[] vertexArray = (V[]) vertexList.toArray();
+        vertices = vertexArray;
+        this.ids = ids;
+        this.edgeCount = edgeCount;
+
+        offsets = new int[vertexArray.length + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[us[e] + 1]++;
+            if (us[e] != vs[e]) offsets[vs[e] + 1]++;
+        }
+        for (int i = 0; i < vertexArray.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        targets = new int[offsets[vertexArray.length]];
+        weights = new int[targets.length];
+        int[] next = Arrays.copyOf(offsets, vertexArray.length);
+        for (int e = 0; e < edgeCount; e++) {
+            int arc = next[us[e]]++;
+            targets[arc] = vs[e];
+            weights[arc] = ws[e];
+            if (us[e] != vs[e]) {
+                arc = next[vs[e]]++;
+                targets[arc] = us[e];
+                weights[arc] = ws[e];
+            }
+        }
+    }
+
+    /** Return a CSR snapshot of the specified graph. */
+    public static <V> CsrGraph<V> of(Graph<V> graph) {
+        List<V> vertexList = graph.vertices();
+        Map<V, Integer> ids = indexOf(vertexList);
+        List<Edge<V>> edges = graph.edges();
+        int[] us = new int[edges.size()];
+        int[] vs = new int[edges.size()];
+        int[] ws = new int[edges.size()];
+        int e = 0;
+        for (Edge<V> edge : edges) {
+            us[e] = ids.get(edge.getU());
+            vs[e] = ids.get(edge.getV());
+            ws[e] = edge.getWeight();
+            e++;
+        }
+        return new CsrGraph<>(vertexList, ids, edges.size(), us, vs, ws);
+    }
+
+    /** Return a CSR snapshot of the specified adjacency matrix graph. */
+    public static <V> CsrGraph<V> of(adjacencymatrixgraph.Graph<V> graph) {
+        List<V> vertexList = graph.vertices();
+        Map<V, Integer> ids = indexOf(vertexList);
+        List<adjacencymatrixgraph.Edge<V>> edges = graph.edges();
+        int[] us = new int[edges.size()];
+        int[] vs = new int[edges.size()];
+        int[] ws = new int[edges.size()];
+        int e = 0;
+        for (adjacencymatrixgraph.Edge<V> edge : edges) {
+            us[e] = ids.get(edge.getU());
+            vs[e] = ids.get(edge.getV());
+            ws[e] = edge.getWeight();
+            e++;
+        }
+        return new CsrGraph<>(vertexList, ids, edges.size(), us, vs, ws);
+    }
+
+    private static <V> Map<V, Integer> indexOf(List<V> vertexList) {
+        Map<V, Integer> ids = new HashMap<>(vertexList.size() * 2);
+        for (int i = 0; i < vertexList.size(); i++) {
+            ids.put(vertexList.get(i), i);
+        }
+        return ids;
+    }
+
+    /** Return the number of vertices in the graph. */
+    @Override
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    /** Return the number of (undirected) edges in the graph. */
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Return the id of the specified vertex.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public int id(V v) {
+        Integer id = ids.get(v);
+        if (id == null) throw new NoSuchElementException();
+        return id;
+    }
+
+    /**
+     * Return the vertex with the specified id.
+     * Pre: 0 <= id < vertexCount().
+     */
+    public V vertex(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * Return the degree of the vertex with the specified id.
+     * Pre: 0 <= id < vertexCount().
+     */
+    @Override
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Return the id of the i'th neighbor of the vertex with the specified id.
+     * Pre: 0 <= id < vertexCount(), and 0 <= i < degree(id).
+     */
+    @Override
+    public int neighbor(int id, int i) {
+        return targets[offsets[id] + i];
+    }
+
+    /**
+     * Return the weight of the edge to the i'th neighbor of the vertex with the specified id.
+     * Pre: 0 <= id < vertexCount(), and 0 <= i < degree(id).
+     */
+    @Override
+    public int weight(int id, int i) {
+        return weights[offsets[id] + i];
+    }
+
+    /**
+     * Call action with every neighbor of the vertex with the specified id and the weight of the edge to it.
+     * Pre: 0 <= id < vertexCount().
+     */
+    @Override
+    public void forEachNeighbor(int id, IntIntConsumer action) {
+        for (int arc = offsets[id]; arc < offsets[id + 1]; arc++) {
+            action.accept(targets[arc], weights[arc]);
+        }
+    }
+
+    /**
+     * Return the index of the first arc leaving the vertex with the specified id.
+     * Pre: 0 <= id < vertexCount().
+     */
+    public int firstArc(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Return the index after the last arc leaving the vertex with the specified id.
+     * Pre: 0 <= id < vertexCount().
+     */
+    public int endArc(int id) {
+        return offsets[id + 1];
+    }
+
+    /** Return the id of the vertex the specified arc points to. */
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    /** Return the weight of the specified arc. */
+    public int weight(int arc) {
+        return weights[arc];
+    }
+}
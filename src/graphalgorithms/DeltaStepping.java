@@ -0,0 +1,174 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Parallel delta-stepping single-source shortest paths on a CSR graph (Meyer and Sanders).
+ * Vertices are kept in buckets of width delta by tentative distance. The smallest bucket is
+ * emptied by relaxing the light edges (weight <= delta) of its vertices in parallel until it
+ * stays empty, and then the heavy edges of all vertices removed from it are relaxed once.
+ * The distances are the same as those found by GraphAlgorithms.dijkstra.
+ */
+public class DeltaStepping {
+    // Vertices relaxed by one task.
+    private static final int GRAIN = 512;
+
+    /**
+     * Return an array with the total weight of the shortest path from the vertex with the specified id
+     * to every vertex, indexed by vertex id, using the common fork-join pool and a delta chosen
+     * from the weights and degrees of the graph. Unreachable vertices have distance Integer.MAX_VALUE.
+     * Throw exception if the id is not in the graph.
+     */
+    public static <V> int[] shortestPaths(CsrGraph<V> graph, int source) {
+        return shortestPaths(graph, source, defaultDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Return an array with the total weight of the shortest path from the vertex with the specified id
+     * to every vertex, indexed by vertex id, using the specified bucket width and fork-join pool.
+     * Unreachable vertices have distance Integer.MAX_VALUE.
+     * Throw exception if the id is not in the graph.
+     * Pre: delta is positive.
+     */
+    public static <V> int[] shortestPaths(CsrGraph<V> graph, int source, int delta, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n) throw new NoSuchElementException();
+        assert delta > 0;
+
+        AtomicIntegerArray distance = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            distance.set(i, Integer.MAX_VALUE);
+        }
+        distance.set(source, 0);
+        // bucket number -> vertices that were put in it, possibly stale or repeated
+        TreeMap<Integer, IntList> buckets = new TreeMap<>();
+        IntList first = new IntList();
+        first.add(source);
+        buckets.put(0, first);
+        // removedIn[v] is the last bucket v was taken out of, requestedIn[v] the last phase it was relaxed in
+        int[] removedIn = new int[n];
+        Arrays.fill(removedIn, -1);
+        int[] requestedIn = new int[n];
+        int phase = 0;
+
+        while (!buckets.isEmpty()) {
+            int bucket = buckets.firstKey();
+            IntList settled = new IntList();
+            IntList current;
+            while ((current = buckets.remove(bucket)) != null) {
+                phase++;
+                IntList requests = new IntList(current.size());
+                for (int i = 0; i < current.size(); i++) {
+                    int v = current.get(i);
+                    // skip stale entries of vertices that have moved to a lower bucket, and repeats
+                    if (distance.get(v) / delta != bucket || requestedIn[v] == phase) continue;
+                    requestedIn[v] = phase;
+                    requests.add(v);
+                    if (removedIn[v] != bucket) {
+                        removedIn[v] = bucket;
+                        settled.add(v);
+                    }
+                }
+                relax(pool, graph, distance, delta, requests.toArray(), true, buckets);
+            }
+            relax(pool, graph, distance, delta, settled.toArray(), false, buckets);
+        }
+
+        int[] D = new int[n];
+        for (int i = 0; i < n; i++) {
+            D[i] = distance.get(i);
+        }
+        return D;
+    }
+
+    /** Return the bucket width used when none is specified: the largest weight over the average degree. */
+    public static <V> int defaultDelta(CsrGraph<V> graph) {
+        int maxWeight = 1;
+        for (int weight : graph.weights) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        double averageDegree = graph.vertexCount() == 0 ? 1 : (double) graph.targets.length / graph.vertexCount();
+        return Math.max(1, (int) (maxWeight / Math.max(averageDegree, 1)));
+    }
+
+    // Relax the light (or heavy) edges of the vertices in parallel, and bucket every improved vertex.
+    private static <V> void relax(ForkJoinPool pool, CsrGraph<V> graph, AtomicIntegerArray distance, int delta,
+                                  int[] vertices, boolean light, Map<Integer, IntList> buckets) {
+        if (vertices.length == 0) return;
+        IntList[] improved = new IntList[(vertices.length + GRAIN - 1) / GRAIN];
+        pool.invoke(new Relax(graph.offsets, graph.targets, graph.weights, distance, delta, light,
+                vertices, improved, 0, improved.length));
+        for (IntList chunk : improved) {
+            for (int i = 0; i < chunk.size(); i++) {
+                int w = chunk.get(i);
+                buckets.computeIfAbsent(distance.get(w) / delta, b -> new IntList()).add(w);
+            }
+        }
+    }
+
+    // Relax the edges of the vertex chunks [from, to), and collect the vertices whose distance went down.
+    @SuppressWarnings("serial") // never serialized
+    private static class Relax extends RecursiveAction {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] weights;
+        private final AtomicIntegerArray distance;
+        private final int delta;
+        private final boolean light;
+        private final int[] vertices;
+        private final IntList[] improved;
+        private final int from;
+        private final int to;
+
+        Relax(int[] offsets, int[] targets, int[] weights, AtomicIntegerArray distance, int delta, boolean light,
+              int[] vertices, IntList[] improved, int from, int to) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.distance = distance;
+            this.delta = delta;
+            this.light = light;
+            this.vertices = vertices;
+            this.improved = improved;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Relax(offsets, targets, weights, distance, delta, light, vertices, improved, from, middle),
+                        new Relax(offsets, targets, weights, distance, delta, light, vertices, improved, middle, to));
+                return;
+            }
+            IntList buffer = new IntList();
+            int end = Math.min((from + 1) * GRAIN, vertices.length);
+            for (int i = from * GRAIN; i < end; i++) {
+                int v = vertices[i];
+                int dv = distance.get(v);
+                for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                    if (weights[arc] <= delta != light) continue;
+                    int w = targets[arc];
+                    int d = dv + weights[arc];
+                    // lower distance[w] to d unless another thread got it lower
+                    int old = distance.get(w);
+                    while (d < old) {
+                        if (distance.compareAndSet(w, old, d)) {
+                            buffer.add(w);
+                            break;
+                        }
+                        old = distance.get(w);
+                    }
+                }
+            }
+            improved[from] = buffer;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Depth-First traversal engine with an explicit stack, so the depth of the search is not
+ * limited by the call stack. The visited set and the stack live in a workspace
+ * that is reused by later traversals on the same thread.
+ * Every stack level keeps a NeighborCursor, reused by the vertices pushed at that level.
+ */
+public class DepthFirstSearch {
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    /**
+     * Traverse the vertices reachable from the specified vertex depth-first.
+     * preOrder is called when a vertex is visited for the first time; if it returns false,
+     * the traversal stops at once. postOrder is called when all neighbors of a vertex are done.
+     * Either callback may be null. Return true if the traversal was not stopped.
+     * Pre: The vertex is in the graph.
+     */
+    public static <V> boolean traverse(Graph<V> graph, V start, Predicate<? super V> preOrder,
+                                       Consumer<? super V> postOrder) {
+        Workspace workspace = WORKSPACE.get();
+        // a callback running its own traversal gets a fresh workspace
+        if (workspace.inUse) workspace = new Workspace();
+        workspace.inUse = true;
+        try {
+            return traverse(graph, start, preOrder, postOrder, workspace);
+        } finally {
+            workspace.clear();
+            workspace.inUse = false;
+        }
+    }
+
+    /**
+     * Traverse all vertices of the graph depth-first, one connected component after the other,
+     * with the same callbacks as traverse. Return true if the traversal was not stopped.
+     */
+    public static <V> boolean traverseAll(Graph<V> graph, Predicate<? super V> preOrder,
+                                          Consumer<? super V> postOrder) {
+        Workspace workspace = WORKSPACE.get();
+        if (workspace.inUse) workspace = new Workspace();
+        workspace.inUse = true;
+        try {
+            for (V v : graph.vertices()) {
+                if (!workspace.visited.contains(v) && !traverse(graph, v, preOrder, postOrder, workspace)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            workspace.clear();
+            workspace.inUse = false;
+        }
+    }
+
+    private static <V> boolean traverse(Graph<V> graph, V start, Predicate<? super V> preOrder,
+                                        Consumer<? super V> postOrder, Workspace workspace) {
+        if (!workspace.visited.add(start)) return true;
+        if (preOrder != null && !preOrder.test(start)) return false;
+        workspace.push(graph, start);
+
+        while (workspace.size > 0) {
+            @SuppressWarnings("unchecked")
+            NeighborCursor<V> neighbors = (NeighborCursor<V>) workspace.cursors[workspace.size - 1];
+            V next = null;
+            while (neighbors.next()) {
+                V neighbor = neighbors.neighbor();
+                if (workspace.visited.add(neighbor)) {
+                    next = neighbor;
+                    break;
+                }
+            }
+            if (next != null) {
+                if (preOrder != null && !preOrder.test(next)) return false;
+                workspace.push(graph, next);
+            } else {
+                @SuppressWarnings("unchecked")
+                V done = (V) workspace.pop();
+                if (postOrder != null) postOrder.accept(done);
+            }
+        }
+        return true;
+    }
+
+    // Visited set and stack of (vertex, remaining neighbors) pairs of one traversal.
+    private static class Workspace {
+        // Larger visited sets and stacks are dropped after the traversal instead of kept for the next one.
+        private static final int MAX_RETAINED = 1 << 16;
+        private static final int INITIAL_DEPTH = 64;
+
+        private Set<Object> visited = new HashSet<>();
+        // Largest size of visited since it was made, which bounds the cost of clearing it.
+        private int visitedPeak;
+        private Object[] vertices = new Object[INITIAL_DEPTH];
+        // Cursor of every stack level, made by graph and kept until the traversal ends.
+        private NeighborCursor<?>[] cursors = new NeighborCursor<?>[INITIAL_DEPTH];
+        private Graph<?> graph;
+        private int size;
+        // Deepest stack of the current traversal; the cursors above it are null.
+        private int depth;
+        private boolean inUse;
+
+        @SuppressWarnings("unchecked")
+        <V> void push(Graph<V> graph, V v) {
+            if (this.graph != graph) {
+                Arrays.fill(cursors, 0, depth, null);
+                this.graph = graph;
+            }
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * size);
+                cursors = Arrays.copyOf(cursors, 2 * size);
+            }
+            if (cursors[size] == null) cursors[size] = graph.neighborCursor();
+            ((NeighborCursor<V>) cursors[size]).reset(v);
+            vertices[size] = v;
+            size++;
+            if (size > depth) depth = size;
+        }
+
+        Object pop() {
+            size--;
+            Object v = vertices[size];
+            vertices[size] = null;
+            return v;
+        }
+
+        // Make the workspace ready for the next traversal, in time proportional to this one.
+        void clear() {
+            int visitedSize = visited.size();
+            visitedPeak = Math.max(visitedPeak, visitedSize);
+            // clearing a HashSet costs its capacity, so an oversized one is replaced
+            if (visitedSize > MAX_RETAINED || visitedPeak > 4 * visitedSize) {
+                visited = new HashSet<>();
+                visitedPeak = 0;
+            } else {
+                visited.clear();
+            }
+            if (vertices.length > MAX_RETAINED) {
+                vertices = new Object[INITIAL_DEPTH];
+                cursors = new NeighborCursor<?>[INITIAL_DEPTH];
+            } else {
+                Arrays.fill(vertices, 0, size, null);
+                // the cursors hold on to the graph
+                Arrays.fill(cursors, 0, depth, null);
+            }
+            graph = null;
+            size = 0;
+            depth = 0;
+        }
+    }
+}
@@ -48,4 +48,25 @@ public class Edge<V> {
         return (u.equals(edge.u) && v.equals(edge.v) ||
                 u.equals(edge.v) && v.equals(edge.u));
     }
+
+    @Override
+    public final int hashCode() {
+        return hash(u, v);
+    }
+
+    /** Return the hash code of an edge between the specified vertices, the same for both directions. */
+    static int hash(Object u, Object v) {
+        // mix before adding, so the sum is symmetric but still spreads small ints like vertex ids
+        return mix(u.hashCode()) + mix(v.hashCode());
+    }
+
+    // Finalizer of MurmurHash3.
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
 }
@@ -0,0 +1,47 @@
+package graphalgorithms;
+
+import java.util.function.Function;
+
+/**
+ * NeighborCursor for graphs that keep the incident edges of every vertex in an array
+ * which is replaced, never changed, when the graph changes. Does not allocate.
+ */
+class EdgeArrayCursor<V> implements NeighborCursor<V> {
+    private final Function<V, Edge<V>[]> edgesOf;
+    private V vertex;
+    private Edge<V>[] edges;
+    private int index;
+
+    EdgeArrayCursor(Function<V, Edge<V>[]> edgesOf) {
+        this.edgesOf = edgesOf;
+        index = -1;
+    }
+
+    @Override
+    public void reset(V v) {
+        vertex = v;
+        edges = edgesOf.apply(v);
+        index = -1;
+    }
+
+    @Override
+    public boolean next() {
+        return edges != null && ++index < edges.length;
+    }
+
+    @Override
+    public V neighbor() {
+        Edge<V> edge = edges[index];
+        return edge.getU().equals(vertex) ? edge.getV() : edge.getU();
+    }
+
+    @Override
+    public int weight() {
+        return edges[index].getWeight();
+    }
+
+    @Override
+    public Edge<V> edge() {
+        return edges[index];
+    }
+}
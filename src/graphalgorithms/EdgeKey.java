@@ -0,0 +1,54 @@
+package graphalgorithms;
+
+/**
+ * Unordered pair of vertices, used as the key of an edge in hash maps.
+ * The keys of u-v and v-u are equal, and the hash code is computed once, when the key is made.
+ * A key has the same hash code as the edges between its vertices.
+ */
+public final class EdgeKey<V> {
+    private final V u; // not null
+    private final V v; // not null
+    private final int hash;
+
+    /** Construct the key of the edge between the specified vertices. */
+    public EdgeKey(V u, V v) {
+        this(u, v, Edge.hash(u, v));
+    }
+
+    private EdgeKey(V u, V v, int hash) {
+        this.u = u;
+        this.v = v;
+        this.hash = hash;
+    }
+
+    /** Return the key of the specified edge. */
+    public static <V> EdgeKey<V> of(Edge<V> edge) {
+        return new EdgeKey<>(edge.getU(), edge.getV(), edge.hashCode());
+    }
+
+    public V getU() {
+        return u;
+    }
+
+    public V getV() {
+        return v;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EdgeKey<?> key)) return false;
+
+        return hash == key.hash && (u.equals(key.u) && v.equals(key.v) || u.equals(key.v) && v.equals(key.u));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return u + "-" + v;
+    }
+}
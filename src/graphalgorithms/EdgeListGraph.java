@@ -1,23 +1,37 @@
 package graphalgorithms;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Edge list implementation of the graph interface.
+ * The edges are kept in insertion order in a map keyed by EdgeKey,
+ * so areAdjacent, getEdge and removeEdge are O(1); neighbor queries scan all edges.
+ * Neighbor cursors and forEachNeighbor share an index of the incident edges of every vertex,
+ * built on their first use after a change, so a traversal costs O(n + m) instead of a scan of all edges per vertex.
  */
 public class EdgeListGraph<V> implements Graph<V> {
     // List with all the vertices in the graph.
     private List<V> vertices;
-    // List with all the edges in the graph.
-    private List<Edge<V>> edges;
+    // Map with all the edges in the graph, in the order they were added.
+    private LinkedHashMap<EdgeKey<V>, Edge<V>> edges;
+    // Incident edges of every vertex that has any, for the cursors; null when it must be rebuilt.
+    private Map<V, List<Edge<V>>> incident;
 
     //-----------------------------------------------------
 
     /** Construct an empty EdgeListGraph. */
     public EdgeListGraph() {
         vertices = new ArrayList<>();
-        edges = new ArrayList<>();
+        edges = new LinkedHashMap<>();
     }
 
     /** Return a list with the vertices in the graph. */
@@ -29,7 +43,7 @@ public class EdgeListGraph<V> implements Graph<V> {
     /** Return a list with the edges in the graph. */
     @Override
     public List<Edge<V>> edges() {
-        return new ArrayList<>(edges);
+        return new ArrayList<>(edges.values());
     }
 
     /**
@@ -40,7 +54,7 @@ public class EdgeListGraph<V> implements Graph<V> {
     public List<V> neighbors(V v) {
         assert vertices.contains(v);
         List<V> neighbors = new ArrayList<>();
-        for (Edge<V> edge : edges) {
+        for (Edge<V> edge : edges.values()) {
             if (edge.getU().equals(v)) {
                 neighbors.add(edge.getV());
             } else if (edge.getV().equals(v)) {
@@ -58,7 +72,7 @@ public class EdgeListGraph<V> implements Graph<V> {
     public int degree(V v) {
         assert vertices.contains(v);
         int degree = 0;
-        for (Edge<V> edge : edges) {
+        for (Edge<V> edge : edges.values()) {
             if (edge.getU().equals(v) || edge.getV().equals(v)) {
                 degree++;
             }
@@ -74,7 +88,7 @@ public class EdgeListGraph<V> implements Graph<V> {
     public List<Edge<V>> incidentEdges(V v) {
         assert vertices.contains(v);
         List<Edge<V>> incidentEdges = new ArrayList<>();
-        for (Edge<V> edge : edges) {
+        for (Edge<V> edge : edges.values()) {
             if (edge.getU().equals(v) || edge.getV().equals(v)) {
                 incidentEdges.add(edge);
             }
@@ -82,6 +96,27 @@ public class EdgeListGraph<V> implements Graph<V> {
         return incidentEdges;
     }
 
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+        assert vertices.contains(v);
+        for (Edge<V> edge : incident().getOrDefault(v, Collections.emptyList())) {
+            action.accept(edge.getU().equals(v) ? edge.getV() : edge.getU(), edge.getWeight());
+        }
+    }
+
+    /**
+     * Return a new cursor over the neighbors of the vertices in the graph.
+     * Reset it to a vertex before use; it can be reused for any number of vertices.
+     */
+    @Override
+    public NeighborCursor<V> neighborCursor() {
+        return new Cursor();
+    }
+
     /**
      * Return true, if the specified vertices are neighbors.
      * Pre: The vertices are vertices in the graph.
@@ -89,18 +124,24 @@ public class EdgeListGraph<V> implements Graph<V> {
     @Override
     public boolean areAdjacent(V u, V v) {
         assert vertices.contains(u) && vertices.contains(v);
-        Edge<V> temp = new Edge<>(u, v);
-        for (Edge<V> edge : edges) {
-            if (edge.equals(temp)) return true;
-        }
-        return false;
+        return edges.containsKey(new EdgeKey<>(u, v));
+    }
+
+    /**
+     * Return the edge between the specified vertices, or null if they are not adjacent.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public Edge<V> getEdge(V u, V v) {
+        assert vertices.contains(u) && vertices.contains(v);
+        return edges.get(new EdgeKey<>(u, v));
     }
 
     /** Print the vertices and the edges. */
     @Override
     public void printGraph() {
         System.out.println("Vertices: " + vertices);
-        System.out.println("Edges: " + edges);
+        System.out.println("Edges: " + edges.values());
     }
 
     /**
@@ -121,9 +162,10 @@ public class EdgeListGraph<V> implements Graph<V> {
     @Override
     public Edge<V> addEdge(V u, V v, int weight) {
         Edge<V> edge = new Edge<>(u, v, weight);
-        assert !edges.contains(edge);
         assert weight >= 0;
-        edges.add(edge);
+        Edge<V> previous = edges.put(EdgeKey.of(edge), edge);
+        assert previous == null;
+        incident = null;
         return edge;
     }
 
@@ -136,6 +178,33 @@ public class EdgeListGraph<V> implements Graph<V> {
         return addEdge(u, v, 0);
     }
 
+    /**
+     * Add the specified edges to the graph.
+     * Pre: Before addition, the vertices of the edges are in the graph,
+     *   and the edges are not in the graph and are all different.
+     * Pre: The weights are not negative.
+     */
+    @Override
+    public void addEdges(Collection<Edge<V>> batch) {
+        assert canAdd(batch);
+        for (Edge<V> edge : batch) {
+            edges.put(EdgeKey.of(edge), edge);
+        }
+        incident = null;
+    }
+
+    // Return true if the preconditions of addEdges hold, checked with hash sets for the whole batch.
+    private boolean canAdd(Collection<Edge<V>> batch) {
+        Set<V> vertexSet = new HashSet<>(vertices);
+        Set<EdgeKey<V>> keys = new HashSet<>();
+        for (Edge<V> edge : batch) {
+            if (!vertexSet.contains(edge.getU()) || !vertexSet.contains(edge.getV())) return false;
+            EdgeKey<V> key = EdgeKey.of(edge);
+            if (edge.getWeight() < 0 || edges.containsKey(key) || !keys.add(key)) return false;
+        }
+        return true;
+    }
+
     /**
      * Remove the specified vertex from the graph.
      * Pre: The vertex is in the graph, and the vertex has no incident edges.
@@ -155,14 +224,73 @@ public class EdgeListGraph<V> implements Graph<V> {
     @Override
     public void removeEdge(V u, V v) {
         assert vertices.contains(u) && vertices.contains(v);
-        Edge<V> temp = new Edge<>(u, v);
-        for (int i = 0; i < edges.size(); i++) {
-            Edge<V> edge = edges.get(i);
-            if (edge.equals(temp)) {
-                edges.remove(edge);
-                return;
+        Edge<V> removed = edges.remove(new EdgeKey<>(u, v));
+        assert removed != null;
+        incident = null;
+    }
+
+    /**
+     * Remove the edges between the vertices of the specified edges from the graph.
+     * The weights of the specified edges are ignored.
+     * Pre: The graph has all the edges, and they are all different.
+     */
+    @Override
+    public void removeEdges(Collection<Edge<V>> batch) {
+        for (Edge<V> edge : batch) {
+            Edge<V> removed = edges.remove(EdgeKey.of(edge));
+            assert removed != null;
+        }
+        incident = null;
+    }
+
+    // Return the index of incident edges, building it if the edges changed since it was last built.
+    private Map<V, List<Edge<V>>> incident() {
+        if (incident == null) {
+            Map<V, List<Edge<V>>> index = new HashMap<>();
+            for (Edge<V> edge : edges.values()) {
+                index.computeIfAbsent(edge.getU(), k -> new ArrayList<>()).add(edge);
+                if (!edge.getU().equals(edge.getV())) {
+                    index.computeIfAbsent(edge.getV(), k -> new ArrayList<>()).add(edge);
+                }
             }
+            incident = index;
+        }
+        return incident;
+    }
+
+    // Cursor over the incident edges of a vertex in the shared index; allocates nothing per reset.
+    private class Cursor implements NeighborCursor<V> {
+        private V vertex;
+        private List<Edge<V>> vertexEdges = Collections.emptyList();
+        private int i;
+
+        @Override
+        public void reset(V v) {
+            assert vertices.contains(v);
+            vertex = v;
+            vertexEdges = incident().getOrDefault(v, Collections.emptyList());
+            i = -1;
+        }
+
+        @Override
+        public boolean next() {
+            return ++i < vertexEdges.size();
+        }
+
+        @Override
+        public V neighbor() {
+            Edge<V> edge = vertexEdges.get(i);
+            return edge.getU().equals(vertex) ? edge.getV() : edge.getU();
+        }
+
+        @Override
+        public int weight() {
+            return vertexEdges.get(i).getWeight();
+        }
+
+        @Override
+        public Edge<V> edge() {
+            return vertexEdges.get(i);
         }
-        assert false;
     }
 }
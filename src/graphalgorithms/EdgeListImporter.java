@@ -0,0 +1,345 @@
+package graphalgorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streaming importer of weighted edge lists into a graph.
+ * Every line holds an edge "u v w" or "u,v,w", with the fields separated by commas, spaces or tabs;
+ * a missing weight is 0. Blank lines and lines starting with # or % are skipped. Quoted fields are not supported.
+ * The file is read in chunks that are parsed in parallel and inserted in file order, one batch per chunk,
+ * so memory use is bounded by the chunk size times the number of chunks in flight,
+ * plus the graph and a map with the vertices seen (and a set of edges seen, with deduplication).
+ * Vertices are created from their strings by a parser, which is called from several threads.
+ */
+public class EdgeListImporter<V> {
+    private static final int DEFAULT_CHUNK_BYTES = 4 << 20;
+
+    private final Function<String, V> parser;
+    private int chunkBytes;
+    private boolean deduplicate;
+    private boolean skipHeader;
+    private ForkJoinPool pool;
+    private Consumer<ImportStats> progress;
+
+    //-----------------------------------------------------
+
+    /** Construct an importer that makes vertices from their strings with the specified parser. */
+    public EdgeListImporter(Function<String, V> parser) {
+        this.parser = parser;
+        chunkBytes = DEFAULT_CHUNK_BYTES;
+        deduplicate = false;
+        skipHeader = false;
+        pool = ForkJoinPool.commonPool();
+        progress = stats -> { };
+    }
+
+    /**
+     * Set the number of bytes read at a time, 4 MB by default. Return this importer.
+     * Pre: The size is positive, and no line is longer than the chunk.
+     */
+    public EdgeListImporter<V> chunkBytes(int chunkBytes) {
+        assert chunkBytes > 0;
+        this.chunkBytes = chunkBytes;
+        return this;
+    }
+
+    /**
+     * Set whether to skip edges that are already in the graph, in either direction, instead of adding them again.
+     * Off by default, in which case the file must not repeat an edge. Return this importer.
+     */
+    public EdgeListImporter<V> deduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+        return this;
+    }
+
+    /** Set whether the first line is a header to skip, off by default. Return this importer. */
+    public EdgeListImporter<V> skipHeader(boolean skipHeader) {
+        this.skipHeader = skipHeader;
+        return this;
+    }
+
+    /** Set the pool that parses the chunks, the common pool by default. Return this importer. */
+    public EdgeListImporter<V> pool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /** Set a listener that is told the progress after every chunk. Return this importer. */
+    public EdgeListImporter<V> progress(Consumer<ImportStats> progress) {
+        this.progress = progress;
+        return this;
+    }
+
+    /**
+     * Add the edges in the specified file, and their vertices that are not in the graph yet, to the graph.
+     * Throw exception if the file cannot be read or has a malformed line.
+     */
+    public ImportStats importInto(Path file, Graph<V> graph) throws IOException {
+        return run(file, EdgeSink.of(graph), graph.vertices(), deduplicate ? graph.edges() : List.of());
+    }
+
+    /**
+     * Add the edges in the specified file, and their vertices that are not in the graph yet,
+     * to the adjacency matrix graph.
+     * Throw exception if the file cannot be read or has a malformed line.
+     */
+    public ImportStats importInto(Path file, adjacencymatrixgraph.Graph<V> graph) throws IOException {
+        List<Edge<V>> edges = new ArrayList<>();
+        if (deduplicate) {
+            for (adjacencymatrixgraph.Edge<V> edge : graph.edges()) {
+                edges.add(new Edge<>(edge.getU(), edge.getV(), edge.getWeight()));
+            }
+        }
+        return run(file, EdgeSink.of(graph), graph.vertices(), edges);
+    }
+
+    /**
+     * Add the edges in the specified file and their vertices to the sink.
+     * Pre: Nothing has been added to the sink.
+     * Throw exception if the file cannot be read or has a malformed line.
+     */
+    public ImportStats importInto(Path file, EdgeSink<V> sink) throws IOException {
+        return run(file, sink, List.of(), List.of());
+    }
+
+    private ImportStats run(Path file, EdgeSink<V> sink, List<V> vertices, List<Edge<V>> edges) throws IOException {
+        Insertion insertion = new Insertion(file, sink, vertices, edges);
+        // chunks parsed or being parsed, in file order
+        ArrayDeque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+        int maxInFlight = pool.getParallelism() + 1;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            insertion.totalBytes = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(chunkBytes);
+            boolean header = skipHeader;
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                while (buffer.hasRemaining() && !endOfFile) {
+                    endOfFile = channel.read(buffer) < 0;
+                }
+                buffer.flip();
+                // a chunk ends after its last newline, the rest is carried over to the next chunk
+                int end = endOfFile ? buffer.limit() : lastNewline(buffer) + 1;
+                if (end == 0 && buffer.limit() > 0) {
+                    throw new IOException(file + ": line longer than the chunk size of " + chunkBytes + " bytes");
+                }
+                byte[] bytes = new byte[end];
+                buffer.get(bytes);
+                buffer.compact();
+
+                int start = 0;
+                if (header && bytes.length > 0) {
+                    while (start < bytes.length && bytes[start++] != '\n') { }
+                    header = false;
+                    insertion.lines++;
+                    insertion.bytesRead += start;
+                }
+                if (start < bytes.length) {
+                    int from = start;
+                    inFlight.add(pool.submit(() -> parse(bytes, from)));
+                }
+                while (inFlight.size() >= maxInFlight || endOfFile && !inFlight.isEmpty()) {
+                    insertion.insert(inFlight.poll().join());
+                    progress.accept(insertion.stats());
+                }
+            }
+        } finally {
+            for (ForkJoinTask<Chunk> task : inFlight) {
+                task.cancel(false);
+            }
+        }
+        return insertion.stats();
+    }
+
+    private static int lastNewline(ByteBuffer buffer) {
+        for (int i = buffer.limit() - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') return i;
+        }
+        return -1;
+    }
+
+    // Parse the lines in bytes[from..], stopping at the first malformed line.
+    private Chunk parse(byte[] bytes, int from) {
+        Chunk chunk = new Chunk(bytes.length - from);
+        int[] fieldStarts = new int[3];
+        int[] fieldEnds = new int[3];
+        int lineStart = from;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') lineEnd++;
+            chunk.lines++;
+            int fields = 0;
+            int i = lineStart;
+            while (true) {
+                while (i < lineEnd && isSeparator(bytes[i])) i++;
+                if (i == lineEnd) break;
+                if (fields == 0 && (bytes[i] == '#' || bytes[i] == '%')) break;
+                if (fields == 3) {
+                    chunk.error = "expected u v [w]";
+                    return chunk;
+                }
+                fieldStarts[fields] = i;
+                while (i < lineEnd && !isSeparator(bytes[i])) i++;
+                fieldEnds[fields++] = i;
+            }
+            if (fields == 1) {
+                chunk.error = "expected u v [w]";
+                return chunk;
+            }
+            if (fields > 1) {
+                try {
+                    V u = parser.apply(new String(bytes, fieldStarts[0], fieldEnds[0] - fieldStarts[0], StandardCharsets.UTF_8));
+                    V v = parser.apply(new String(bytes, fieldStarts[1], fieldEnds[1] - fieldStarts[1], StandardCharsets.UTF_8));
+                    int weight = fields == 3 ? parseWeight(bytes, fieldStarts[2], fieldEnds[2]) : 0;
+                    chunk.add(u, v, weight);
+                } catch (RuntimeException e) {
+                    chunk.error = e.toString();
+                    return chunk;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        chunk.bytes = bytes.length - from;
+        return chunk;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ',' || b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static int parseWeight(byte[] bytes, int start, int end) {
+        long weight = 0;
+        for (int i = start; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("bad weight " + new String(bytes, start, end - start, StandardCharsets.UTF_8));
+            }
+            weight = 10 * weight + digit;
+            if (weight > Integer.MAX_VALUE) throw new NumberFormatException("weight too large");
+        }
+        return (int) weight;
+    }
+
+    // Edges parsed from one chunk.
+    private final class Chunk {
+        Object[] us;
+        Object[] vs;
+        int[] weights;
+        int count;
+        int lines;
+        // Size of the chunk if it was parsed to the end.
+        int bytes;
+        // Problem with the last line, null if there was none.
+        String error;
+
+        Chunk(int length) {
+            // a line holds at least "u v\n"
+            int capacity = Math.min(length / 4 + 1, 1 << 16);
+            us = new Object[capacity];
+            vs = new Object[capacity];
+            weights = new int[capacity];
+        }
+
+        void add(V u, V v, int weight) {
+            if (count == us.length) {
+                us = Arrays.copyOf(us, 2 * count);
+                vs = Arrays.copyOf(vs, 2 * count);
+                weights = Arrays.copyOf(weights, 2 * count);
+            }
+            us[count] = u;
+            vs[count] = v;
+            weights[count] = weight;
+            count++;
+        }
+    }
+
+    // Insertion state of one run, only used from the thread that called importInto.
+    private final class Insertion {
+        final Path file;
+        final EdgeSink<V> sink;
+        final long startNanos;
+        // Id of every vertex in the graph, to know which vertices to add and to key the edges.
+        final Map<V, Integer> ids;
+        // Edges seen, as smaller id << 32 | larger id, only with deduplication.
+        final Set<Long> edgesSeen;
+        long totalBytes;
+        long bytesRead;
+        long lines;
+        long edges;
+        long duplicates;
+        long vertices;
+
+        Insertion(Path file, EdgeSink<V> sink, List<V> vertexList, List<Edge<V>> edgeList) {
+            this.file = file;
+            this.sink = sink;
+            startNanos = System.nanoTime();
+            ids = new HashMap<>(2 * vertexList.size());
+            for (V v : vertexList) {
+                ids.put(v, ids.size());
+            }
+            edgesSeen = new HashSet<>(2 * edgeList.size());
+            for (Edge<V> edge : edgeList) {
+                edgesSeen.add(key(ids.get(edge.getU()), ids.get(edge.getV())));
+            }
+        }
+
+        void insert(Chunk chunk) throws IOException {
+            if (chunk.error != null) {
+                throw new IOException(String.format("%s line %d: %s", file, lines + chunk.lines, chunk.error));
+            }
+            List<Edge<V>> batch = new ArrayList<>(chunk.count);
+            for (int e = 0; e < chunk.count; e++) {
+                @SuppressWarnings("unchecked")
+                V u = (V) chunk.us[e];
+                @SuppressWarnings("unchecked")
+                V v = (V) chunk.vs[e];
+                int uId = id(u);
+                int vId = id(v);
+                if (deduplicate && !edgesSeen.add(key(uId, vId))) {
+                    duplicates++;
+                    continue;
+                }
+                batch.add(new Edge<>(u, v, chunk.weights[e]));
+            }
+            sink.addEdges(batch);
+            edges += batch.size();
+            lines += chunk.lines;
+            bytesRead += chunk.bytes;
+        }
+
+        // Return the id of the vertex, adding it to the sink if it is new.
+        private int id(V v) {
+            Integer id = ids.get(v);
+            if (id != null) return id;
+            sink.addVertex(v);
+            vertices++;
+            ids.put(v, ids.size());
+            return ids.size() - 1;
+        }
+
+        private long key(int uId, int vId) {
+            return (long) Math.min(uId, vId) << 32 | Math.max(uId, vId);
+        }
+
+        ImportStats stats() {
+            return new ImportStats(bytesRead, totalBytes, lines, edges, duplicates, vertices,
+                    System.nanoTime() - startNanos);
+        }
+    }
+}
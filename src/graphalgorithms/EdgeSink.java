@@ -0,0 +1,56 @@
+package graphalgorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Destination of the vertices and edges read by an EdgeListImporter,
+ * so the importer can fill either kind of graph.
+ */
+public interface EdgeSink<V> {
+    /**
+     * Add a vertex.
+     * Pre: The vertex has not been added before.
+     */
+    void addVertex(V v);
+
+    /**
+     * Add a batch of edges, in order.
+     * Pre: The vertices of the edges have been added.
+     */
+    void addEdges(List<Edge<V>> edges);
+
+    /** Return a sink that adds to the specified graph. */
+    static <V> EdgeSink<V> of(Graph<V> graph) {
+        return new EdgeSink<>() {
+            @Override
+            public void addVertex(V v) {
+                graph.addVertex(v);
+            }
+
+            @Override
+            public void addEdges(List<Edge<V>> edges) {
+                graph.addEdges(edges);
+            }
+        };
+    }
+
+    /** Return a sink that adds to the specified adjacency matrix graph. */
+    static <V> EdgeSink<V> of(adjacencymatrixgraph.Graph<V> graph) {
+        return new EdgeSink<>() {
+            @Override
+            public void addVertex(V v) {
+                graph.addVertex(v);
+            }
+
+            @Override
+            public void addEdges(List<Edge<V>> edges) {
+                List<adjacencymatrixgraph.Edge<V>> matrixEdges = new ArrayList<>(edges.size());
+                for (Edge<V> edge : edges) {
+                    matrixEdges.add(new adjacencymatrixgraph.Edge<>(edge.getU(), edge.getV(), edge.getWeight()));
+                }
+                graph.addEdges(matrixEdges);
+            }
+        };
+    }
+}
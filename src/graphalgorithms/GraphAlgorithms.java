@@ -1,6 +1,8 @@
 package graphalgorithms;
 
 import java.util.*;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntBiFunction;
 import java.util.stream.Collectors;
 
 public class GraphAlgorithms {
@@ -58,19 +60,26 @@ public class GraphAlgorithms {
      * Return true if the graph has a path between the specified vertices.
      * Throw exception if the vertices are not in the graph.
      */
-    private static <V> boolean hasGraphPath(Graph<V> graph, V v1, V v2) {
-        if (!graph.vertices().contains(v1) || !graph.vertices().contains(v2)) throw new NoSuchElementException();
-        return dfs(graph, v1).contains(v2);
+    public static <V> boolean hasGraphPath(Graph<V> graph, V v1, V v2) {
+        List<V> vertices = graph.vertices();
+        if (!vertices.contains(v1) || !vertices.contains(v2)) throw new NoSuchElementException();
+        // the traversal is stopped when it reaches v2
+        return !DepthFirstSearch.traverse(graph, v1, v -> !v.equals(v2), null);
     }
 
     /**
      * Return true if the graph is connected, otherwise false.
      */
     public static <V> boolean isGraphConnected(Graph<V> graph) {
-        int dfsSize = dfs(graph, graph.vertices().getFirst()).size();
-        int graphSize = graph.vertices().size();
-
-        return dfsSize == graphSize;
+        List<V> vertices = graph.vertices();
+        if (vertices.isEmpty()) return true;
+        int[] dfsSize = {0};
+        DepthFirstSearch.traverse(graph, vertices.getFirst(), v -> {
+            dfsSize[0]++;
+            return true;
+        }, null);
+
+        return dfsSize[0] == vertices.size();
     }
 
     /**
@@ -80,39 +89,87 @@ public class GraphAlgorithms {
      */
     public static <V> List<V> dfs(Graph<V> graph, V v) {
         if (!graph.vertices().contains(v)) throw new NoSuchElementException();
-        return dfs(graph, v, new ArrayList<>());
+        CallStats stats = Metrics.start("dfs");
+        List<V> visited = new ArrayList<>();
+        DepthFirstSearch.traverse(graph, v, visited::add, null);
+        if (stats != null) {
+            // the traversal asks for the neighbors of every vertex it visits
+            stats.verticesSettled = visited.size();
+            stats.neighborCalls = visited.size();
+        }
+        Metrics.finish(stats);
+        return visited;
     }
 
-    private static <V> List<V> dfs(Graph<V> graph, V v, List<V> visited) {
-        visited.add(v);
-        for (V neighbor : graph.neighbors(v)) {
-            if (!visited.contains(neighbor)) {
-                return dfs(graph, neighbor, visited);
+    /**
+     * Return a list with the vertices of the specified graph in the order
+     * a Depth-First traversal (DFS) starting at the specified vertex finishes them,
+     * so every vertex comes after all the vertices discovered from it.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public static <V> List<V> dfsPostOrder(Graph<V> graph, V v) {
+        if (!graph.vertices().contains(v)) throw new NoSuchElementException();
+        List<V> finished = new ArrayList<>();
+        DepthFirstSearch.traverse(graph, v, null, finished::add);
+        return finished;
+    }
+
+    /**
+     * Return the ids of the vertices of the specified CSR graph
+     * found by a Depth-First traversal (DFS) of the graph starting at the vertex with the specified id.
+     * Throw exception if the id is not in the graph.
+     */
+    public static <V> int[] dfs(CsrGraph<V> graph, int v) {
+        int n = graph.vertexCount();
+        if (v < 0 || v >= n) throw new NoSuchElementException();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        int count = 0;
+        // stack of vertices and the next arc to try for each of them
+        int[] stack = new int[n];
+        int[] nextArc = new int[n];
+        int top = 0;
+        CallStats stats = Metrics.start("dfs-csr");
+
+        visited[v] = true;
+        order[count++] = v;
+        stack[0] = v;
+        nextArc[0] = offsets[v];
+        while (top >= 0) {
+            int u = stack[top];
+            int arc = nextArc[top];
+            while (arc < offsets[u + 1] && visited[targets[arc]]) arc++;
+            if (arc == offsets[u + 1]) {
+                top--;
+            } else {
+                nextArc[top] = arc + 1;
+                int w = targets[arc];
+                visited[w] = true;
+                order[count++] = w;
+                top++;
+                stack[top] = w;
+                nextArc[top] = offsets[w];
             }
         }
-        return visited;
+        if (stats != null) {
+            stats.verticesSettled = count;
+            for (int i = 0; i < count; i++) {
+                stats.edgesRelaxed += offsets[order[i] + 1] - offsets[order[i]];
+            }
+        }
+        Metrics.finish(stats);
+        return Arrays.copyOf(order, count);
     }
 
-
     /**
      * Return a list with the vertices of the specified graph
      * found by a Depth-First traversal (DFT) of the graph starting at the specified vertex.
      * Throw exception if the vertex is not in the graph.
      */
     public static <V> List<V> dfsStack(Graph<V> graph, V v) {
-        if (!graph.vertices().contains(v)) throw new NoSuchElementException();
-        List<V> finalList = new ArrayList<>();
-        List<V> stackList = new ArrayList<>();
-
-        stackList.addLast(v);
-
-        while (!stackList.isEmpty()) {
-            V curElement = stackList.getLast();
-            stackList.removeLast();
-            hihihuhu(graph, finalList, curElement, stackList);
-        }
-
-        return finalList;
+        return dfs(graph, v);
     }
 
     /**
@@ -122,75 +179,104 @@ public class GraphAlgorithms {
      */
     public static <V> List<V> bfs(Graph<V> graph, V v) {
         if (!graph.vertices().contains(v)) throw new NoSuchElementException();
+        CallStats stats = Metrics.start("bfs");
         List<V> finalList = new ArrayList<>();
-        List<V> stackList = new ArrayList<>();
-
-        stackList.addLast(v);
-
-        while (!stackList.isEmpty()) {
-            V curElement = stackList.getFirst();
-            stackList.removeFirst();
-            hihihuhu(graph, finalList, curElement, stackList);
+        Set<V> visited = new HashSet<>();
+        // the queue is the part of finalList that has not been expanded yet
+        visited.add(v);
+        finalList.add(v);
+        ObjIntConsumer<V> visit = (neighbor, weight) -> {
+            if (stats != null) stats.edgesRelaxed++;
+            if (visited.add(neighbor)) {
+                finalList.add(neighbor);
+            }
+        };
+        for (int head = 0; head < finalList.size(); head++) {
+            if (stats != null) stats.neighborCalls++;
+            graph.forEachNeighbor(finalList.get(head), visit);
         }
+        if (stats != null) stats.verticesSettled = finalList.size();
+        Metrics.finish(stats);
 
         return finalList;
     }
 
-    private static <V> void hihihuhu(Graph<V> graph, List<V> finalList, V curElement, List<V> stackList) {
-        if (!finalList.contains(curElement)) {
-            finalList.add(curElement);
-
-            for (V neighbor : graph.neighbors(curElement)) {
-                if (!finalList.contains(neighbor)) {
-                    stackList.addFirst(neighbor);
+    /**
+     * Return the ids of the vertices of the specified CSR graph
+     * found by a Breath-First traversal (BFT) of the graph starting at the vertex with the specified id.
+     * Throw exception if the id is not in the graph.
+     */
+    public static <V> int[] bfs(CsrGraph<V> graph, int v) {
+        int n = graph.vertexCount();
+        if (v < 0 || v >= n) throw new NoSuchElementException();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        boolean[] visited = new boolean[n];
+        // the queue is the prefix of order that has not been expanded yet
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        CallStats stats = Metrics.start("bfs-csr");
+
+        visited[v] = true;
+        order[tail++] = v;
+        while (head < tail) {
+            int u = order[head++];
+            if (stats != null) stats.edgesRelaxed += offsets[u + 1] - offsets[u];
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int w = targets[arc];
+                if (!visited[w]) {
+                    visited[w] = true;
+                    order[tail++] = w;
                 }
             }
         }
+        if (stats != null) stats.verticesSettled = tail;
+        Metrics.finish(stats);
+        return Arrays.copyOf(order, tail);
     }
 
     /**
      * Return a minimum spanning tree (MST).
+     * If the graph is not connected, return a minimum spanning forest
+     * with a tree for every connected component.
      */
     public static <V> List<Edge<V>> mst(Graph<V> graph) {
-
-
-        List<LinkedHashSet<V>> CSets = new ArrayList<>();
-
-        for (V vertex : graph.vertices()) {
-            LinkedHashSet<V> set = new LinkedHashSet<>();
-            set.add(vertex);
-            CSets.add(set);
+        CallStats stats = Metrics.start("mst");
+        List<V> vertices = graph.vertices();
+        Map<V, Integer> ids = new HashMap<>(vertices.size() * 2);
+        for (int i = 0; i < vertices.size(); i++) {
+            ids.put(vertices.get(i), i);
         }
-
-
-        Queue<Edge<V>> queue = new PriorityQueue<Edge<V>>((Edge<V> e1, Edge<V> e2) -> e1.getWeight() - e2.getWeight());
-        queue.addAll(graph.edges());
-
-        List<Edge<V>> bestTree = new ArrayList<>();
-        while (bestTree.size() < graph.vertices().size() - 1) {
-            Edge<V> element = queue.poll();
-            V vertexU = element.getU();
-            V vertexV = element.getV();
-            Set tas = new LinkedHashSet();
-            Set sat = new LinkedHashSet();
-            for (LinkedHashSet<V> cSet : CSets) {
-                if (cSet.contains(vertexU)) {
-                    tas = cSet;
-                }
-                if (cSet.contains(vertexV)) {
-                    sat = cSet;
-                }
-            }
-            if (!tas.equals(sat)) {
-                bestTree.add(element);
-                tas.addAll(sat);
-                CSets.remove(sat);
+        List<Edge<V>> edges = graph.edges();
+
+        // (weight, edge index) pairs packed in longs, so a primitive sort orders the edges by weight
+        long[] order = new long[edges.size()];
+        int[] us = new int[edges.size()];
+        int[] vs = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            Edge<V> edge = edges.get(e);
+            order[e] = (long) edge.getWeight() << 32 | e;
+            us[e] = ids.get(edge.getU());
+            vs[e] = ids.get(edge.getV());
+        }
+        Arrays.sort(order);
+
+        UnionFind components = new UnionFind(vertices.size());
+        List<Edge<V>> bestTree = new ArrayList<>(Math.max(vertices.size() - 1, 0));
+        int i = 0;
+        for (; i < order.length && components.count() > 1; i++) {
+            int e = (int) order[i];
+            if (components.union(us[e], vs[e])) {
+                bestTree.add(edges.get(e));
             }
-
-
         }
-
-
+        if (stats != null) {
+            // every tree edge joins one more vertex to the forest
+            stats.verticesSettled = bestTree.size();
+            stats.edgesRelaxed = i;
+        }
+        Metrics.finish(stats);
         return bestTree;
     }
 
@@ -198,37 +284,172 @@ public class GraphAlgorithms {
      * Return a map containing (vertex, weight) pairs,
      * where weight is the total weight of the shortest path
      * from the specified vertex v to the vertex in the pair.
+     * Throw exception if the vertex is not in the graph.
      */
     public static <V> Map<V, Integer> dijkstra(Graph<V> graph, V v) {
-        Map<V, Integer> D = new HashMap<>();
-        for (V vertex : graph.vertices()) {
-            D.put(vertex, Integer.MAX_VALUE);
-        }
-        D.put(v, 0);
+        return shortestPaths(graph, v).distances();
+    }
 
-        List<V> Q = new ArrayList<>();
-        Q.addAll(graph.vertices());
-        Q.sort((V a, V b) -> D.get(a) - D.get(b));
+    /**
+     * Return the shortest paths from the specified vertex to every vertex in the graph.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public static <V> ShortestPaths<V> shortestPaths(Graph<V> graph, V source) {
+        return shortestPaths(graph, source, null);
+    }
 
+    /**
+     * Return the shortest paths from the specified source vertex,
+     * stopping as soon as the shortest path to the specified target vertex is known.
+     * Only the distance and path to the target (and to vertices closer than the target) are final.
+     * A null target searches the whole graph.
+     * Throw exception if the vertices are not in the graph.
+     */
+    public static <V> ShortestPaths<V> shortestPaths(Graph<V> graph, V source, V target) {
+        Object[] vertices = graph.vertices().toArray();
+        Map<V, Integer> ids = new HashMap<>(vertices.length * 2);
+        for (int i = 0; i < vertices.length; i++) {
+            @SuppressWarnings("unchecked")
+            V vertex = (V) vertices[i];
+            ids.put(vertex, i);
+        }
+        if (!ids.containsKey(source) || target != null && !ids.containsKey(target)) throw new NoSuchElementException();
+        int s = ids.get(source);
+        int t = target == null ? -1 : ids.get(target);
+        CallStats stats = Metrics.start("dijkstra");
+
+        int[] D = new int[vertices.length];
+        Arrays.fill(D, Integer.MAX_VALUE);
+        int[] P = new int[vertices.length];
+        Arrays.fill(P, -1);
+        D[s] = 0;
+
+        IndexedMinHeap Q = new IndexedMinHeap(vertices.length);
+        NeighborCursor<V> neighbors = graph.neighborCursor();
+        Q.insert(s, 0);
         while (!Q.isEmpty()) {
-            V u = Q.remove(0);
-            for (V z : graph.neighbors(u)) {
-                if (Q.contains(z)) {
-                    int weightOfEdge = 0;
-                    for (Edge<V> incidentEdge : graph.incidentEdges(u)) {
-                        if (incidentEdge.getU().equals(z)) weightOfEdge = incidentEdge.getWeight();
-                        if (incidentEdge.getV().equals(z)) weightOfEdge = incidentEdge.getWeight();
-                    }
-                    if (D.get(u) + weightOfEdge < D.get(z)) {
-                        D.put(z, D.get(u) + weightOfEdge);
-                    }
-
-
+            int u = Q.poll();
+            if (u == t) break;
+            @SuppressWarnings("unchecked")
+            V uVertex = (V) vertices[u];
+            if (stats != null) {
+                stats.verticesSettled++;
+                stats.heapOperations++;
+                stats.neighborCalls++;
+            }
+            neighbors.reset(uVertex);
+            while (neighbors.next()) {
+                if (stats != null) stats.edgesRelaxed++;
+                int z = ids.get(neighbors.neighbor());
+                int d = D[u] + neighbors.weight();
+                if (d < D[z]) {
+                    D[z] = d;
+                    P[z] = u;
+                    Q.insertOrDecrease(z, d);
+                    if (stats != null) stats.heapOperations++;
                 }
             }
-            Q.sort((V a, V b) -> D.get(a) - D.get(b));
         }
+        Metrics.finish(stats);
+        return new ShortestPaths<>(vertices, ids, D, P, s);
+    }
+
+    /**
+     * Return the shortest path from the source vertex to the target vertex,
+     * found by a bidirectional Dijkstra search.
+     * Throw exception if the vertices are not in the graph.
+     */
+    public static <V> GraphPath<V> shortestPath(Graph<V> graph, V source, V target) {
+        return shortestPath(graph, source, target, null);
+    }
+
+    /**
+     * Return the shortest path from the source vertex to the target vertex,
+     * found by a bidirectional A* search guided by the specified heuristic.
+     * heuristic(x, y) estimates the weight of the shortest path between x and y.
+     * Pre: The heuristic is consistent: heuristic(x, x) == 0, and heuristic(x, z) <= w + heuristic(y, z)
+     *   for every edge (x, y) with weight w.
+     * A null heuristic gives plain bidirectional Dijkstra.
+     * Throw exception if the vertices are not in the graph.
+     */
+    public static <V> GraphPath<V> shortestPath(Graph<V> graph, V source, V target, ToIntBiFunction<V, V> heuristic) {
+        List<V> vertices = graph.vertices();
+        if (!vertices.contains(source) || !vertices.contains(target)) throw new NoSuchElementException();
+        return new BidirectionalSearch<>(graph, source, target, heuristic).search();
+    }
 
+    /**
+     * Return an array with the total weight of the shortest path
+     * from the vertex with the specified id to every vertex of the specified CSR graph,
+     * indexed by vertex id. Unreachable vertices have distance Integer.MAX_VALUE.
+     * Throw exception if the id is not in the graph.
+     */
+    public static <V> int[] dijkstra(CsrGraph<V> graph, int v) {
+        if (v < 0 || v >= graph.vertexCount()) throw new NoSuchElementException();
+        int[] D = new int[graph.vertexCount()];
+        dijkstra(graph, v, -1, D, null);
         return D;
     }
+
+    /**
+     * Return the shortest paths from the vertex with the specified source id
+     * to every vertex of the specified CSR graph.
+     * Throw exception if the id is not in the graph.
+     */
+    public static <V> ShortestPaths<V> shortestPaths(CsrGraph<V> graph, int source) {
+        return shortestPaths(graph, source, -1);
+    }
+
+    /**
+     * Return the shortest paths from the vertex with the specified source id,
+     * stopping as soon as the shortest path to the vertex with the specified target id is known.
+     * A negative target searches the whole graph.
+     * Throw exception if the ids are not in the graph.
+     */
+    public static <V> ShortestPaths<V> shortestPaths(CsrGraph<V> graph, int source, int target) {
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n || target >= n) throw new NoSuchElementException();
+        int[] D = new int[n];
+        int[] P = new int[n];
+        dijkstra(graph, source, target, D, P);
+        return new ShortestPaths<>(graph.vertices, graph.ids, D, P, source);
+    }
+
+    // Fill D (and P unless null) with the distances and predecessors from s, stop when t is settled.
+    private static <V> void dijkstra(CsrGraph<V> graph, int s, int t, int[] D, int[] P) {
+        dijkstra(graph, s, t, D, P, new IndexedMinHeap(D.length));
+    }
+
+    // As above, with the heap Q; Q is empty again afterwards unless the search stopped at t.
+    static <V> void dijkstra(CsrGraph<V> graph, int s, int t, int[] D, int[] P, IndexedMinHeap Q) {
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+        int[] weights = graph.weights;
+        Arrays.fill(D, Integer.MAX_VALUE);
+        if (P != null) Arrays.fill(P, -1);
+        D[s] = 0;
+        CallStats stats = Metrics.start("dijkstra-csr");
+
+        Q.insert(s, 0);
+        while (!Q.isEmpty()) {
+            int u = Q.poll();
+            if (u == t) break;
+            if (stats != null) {
+                stats.verticesSettled++;
+                stats.heapOperations++;
+                stats.edgesRelaxed += offsets[u + 1] - offsets[u];
+            }
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                int z = targets[arc];
+                int d = D[u] + weights[arc];
+                if (d < D[z]) {
+                    D[z] = d;
+                    if (P != null) P[z] = u;
+                    Q.insertOrDecrease(z, d);
+                    if (stats != null) stats.heapOperations++;
+                }
+            }
+        }
+        Metrics.finish(stats);
+    }
 }
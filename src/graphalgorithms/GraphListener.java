@@ -0,0 +1,39 @@
+package graphalgorithms;
+
+import java.util.Collection;
+
+/**
+ * Listener for the changes made to an ObservableGraph.
+ * Every method is called after the change, and does nothing by default.
+ */
+public interface GraphListener<V> {
+    /** The vertex was added to the graph. */
+    default void vertexAdded(V v) {
+    }
+
+    /** The vertex was removed from the graph. */
+    default void vertexRemoved(V v) {
+    }
+
+    /** The edge was added to the graph. */
+    default void edgeAdded(Edge<V> edge) {
+    }
+
+    /** The edge between the vertices was removed from the graph. */
+    default void edgeRemoved(V u, V v) {
+    }
+
+    /** The edges were added to the graph in one batch. Calls edgeAdded for each by default. */
+    default void edgesAdded(Collection<Edge<V>> edges) {
+        for (Edge<V> edge : edges) {
+            edgeAdded(edge);
+        }
+    }
+
+    /** The edges between the vertices of the edges were removed in one batch. Calls edgeRemoved for each by default. */
+    default void edgesRemoved(Collection<Edge<V>> edges) {
+        for (Edge<V> edge : edges) {
+            edgeRemoved(edge.getU(), edge.getV());
+        }
+    }
+}
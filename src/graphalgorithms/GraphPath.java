@@ -0,0 +1,63 @@
+package graphalgorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A path between two vertices, as the list of its edges from the source to the target.
+ */
+public class GraphPath<V> {
+    private final V source;
+    private final V target;
+    private final List<Edge<V>> edges;
+    // Total weight of the edges, Integer.MAX_VALUE if there is no path.
+    private final int weight;
+
+    GraphPath(V source, V target, List<Edge<V>> edges, int weight) {
+        this.source = source;
+        this.target = target;
+        this.edges = edges;
+        this.weight = weight;
+    }
+
+    public V getSource() {
+        return source;
+    }
+
+    public V getTarget() {
+        return target;
+    }
+
+    /** Return true if there is a path from the source to the target. */
+    public boolean exists() {
+        return weight != Integer.MAX_VALUE;
+    }
+
+    /** Return the edges of the path in order from the source, empty if there is no path. */
+    public List<Edge<V>> edges() {
+        return new ArrayList<>(edges);
+    }
+
+    /** Return the vertices of the path in order from the source, empty if there is no path. */
+    public List<V> vertices() {
+        List<V> vertices = new ArrayList<>(edges.size() + 1);
+        if (!exists()) return vertices;
+        V v = source;
+        vertices.add(v);
+        for (Edge<V> edge : edges) {
+            v = edge.getU().equals(v) ? edge.getV() : edge.getU();
+            vertices.add(v);
+        }
+        return vertices;
+    }
+
+    /** Return the total weight of the path, Integer.MAX_VALUE if there is no path. */
+    public int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return exists() ? String.format("%s (w:%d)", vertices(), weight) : "no path";
+    }
+}
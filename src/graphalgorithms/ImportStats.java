@@ -0,0 +1,83 @@
+package graphalgorithms;
+
+/**
+ * Progress and throughput of an EdgeListImporter run, as a snapshot.
+ */
+public class ImportStats {
+    private final long bytesRead;
+    private final long totalBytes;
+    private final long lines;
+    private final long edges;
+    private final long duplicates;
+    private final long vertices;
+    private final long elapsedNanos;
+
+    ImportStats(long bytesRead, long totalBytes, long lines, long edges, long duplicates, long vertices,
+                long elapsedNanos) {
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+        this.lines = lines;
+        this.edges = edges;
+        this.duplicates = duplicates;
+        this.vertices = vertices;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Return the number of bytes of the file read and inserted so far. */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /** Return the size of the file. */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /** Return the number of lines read, including blank lines, comments and the header. */
+    public long getLines() {
+        return lines;
+    }
+
+    /** Return the number of edges added to the graph. */
+    public long getEdges() {
+        return edges;
+    }
+
+    /** Return the number of edges skipped because they were already in the graph. */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /** Return the number of vertices added to the graph. */
+    public long getVertices() {
+        return vertices;
+    }
+
+    /** Return the time since the import started, in nanoseconds. */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** Return the fraction of the file done, between 0 and 1. */
+    public double fractionDone() {
+        return totalBytes == 0 ? 1 : (double) bytesRead / totalBytes;
+    }
+
+    /** Return the number of edges added per second. */
+    public double edgesPerSecond() {
+        return edges * 1e9 / Math.max(elapsedNanos, 1);
+    }
+
+    /** Return the number of megabytes read per second. */
+    public double megabytesPerSecond() {
+        return bytesRead / 1e6 * 1e9 / Math.max(elapsedNanos, 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f/%.1f MB (%.0f%%), %d lines, %d edges, %d duplicates, %d vertices, "
+                        + "%.0f edges/s, %.1f MB/s",
+                bytesRead / 1e6, totalBytes / 1e6, 100 * fractionDone(), lines, edges, duplicates, vertices,
+                edgesPerSecond(), megabytesPerSecond());
+    }
+}
@@ -0,0 +1,138 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int ids ordered by long keys.
+ * Knows the position of every id, so contains and decreaseKey run without searching.
+ * The heap grows when an id beyond its capacity is inserted.
+ */
+class IndexedMinHeap {
+    // Ids in heap order.
+    private int[] heap;
+    // Position of every id in heap, or -1 if the id is not in the heap.
+    private int[] position;
+    // Key of every id in the heap.
+    private long[] keys;
+    private int size;
+
+    /** Construct an empty heap for the ids 0..capacity-1. */
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        Arrays.fill(position, -1);
+        keys = new long[capacity];
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int id) {
+        return id < position.length && position[id] >= 0;
+    }
+
+    /** Return the key of the specified id. Pre: The id is in the heap. */
+    long key(int id) {
+        return keys[id];
+    }
+
+    /** Return the smallest key. Pre: The heap is not empty. */
+    long minKey() {
+        return keys[heap[0]];
+    }
+
+    /** Add the id with the specified key. Pre: The id is not in the heap. */
+    void insert(int id, long key) {
+        if (id >= position.length) grow(id + 1);
+        assert position[id] < 0;
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    /** Lower the key of the id. Pre: The id is in the heap and key <= key(id). */
+    void decreaseKey(int id, long key) {
+        assert position[id] >= 0 && key <= keys[id];
+        keys[id] = key;
+        siftUp(position[id]);
+    }
+
+    /** Insert the id, or lower its key if it is already in the heap with a larger key. */
+    void insertOrDecrease(int id, long key) {
+        if (!contains(id)) {
+            insert(id, key);
+        } else if (key < keys[id]) {
+            decreaseKey(id, key);
+        }
+    }
+
+    /** Remove and return the id with the smallest key. Pre: The heap is not empty. */
+    int poll() {
+        assert size > 0;
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /** Remove all ids from the heap, in time proportional to the current size. */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void grow(int capacity) {
+        int oldCapacity = position.length;
+        int newCapacity = Math.max(capacity, 2 * oldCapacity);
+        heap = Arrays.copyOf(heap, newCapacity);
+        position = Arrays.copyOf(position, newCapacity);
+        Arrays.fill(position, oldCapacity, newCapacity, -1);
+        keys = Arrays.copyOf(keys, newCapacity);
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) break;
+            heap[i] = parentId;
+            position[parentId] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) child++;
+            int childId = heap[child];
+            if (key <= keys[childId]) break;
+            heap[i] = childId;
+            position[childId] = i;
+            i = child;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+}
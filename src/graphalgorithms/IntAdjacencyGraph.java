@@ -0,0 +1,182 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Mutable IntGraph that keeps the neighbors and edge weights of every vertex in growable int arrays.
+ * Vertices are numbered in the order they are added and cannot be removed.
+ * Removing an edge moves the last neighbor of each end into its place, so neighbor numbers change.
+ */
+public class IntAdjacencyGraph implements IntGraph {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int[] NO_NEIGHBORS = new int[0];
+
+    // Neighbors of every vertex in neighbors[v][0..degree[v]), with matching weights.
+    private int[][] neighbors;
+    private int[][] weights;
+    private int[] degree;
+    private int vertexCount;
+    private int edgeCount;
+
+    //-----------------------------------------------------
+
+    /** Construct an IntAdjacencyGraph with the vertices 0..vertexCount-1 and no edges. */
+    public IntAdjacencyGraph(int vertexCount) {
+        int capacity = Math.max(vertexCount, DEFAULT_CAPACITY);
+        neighbors = new int[capacity][];
+        weights = new int[capacity][];
+        degree = new int[capacity];
+        Arrays.fill(neighbors, NO_NEIGHBORS);
+        Arrays.fill(weights, NO_NEIGHBORS);
+        this.vertexCount = vertexCount;
+        edgeCount = 0;
+    }
+
+    /** Construct an empty IntAdjacencyGraph. */
+    public IntAdjacencyGraph() {
+        this(0);
+    }
+
+    /** Return a copy of the specified graph. */
+    public static IntAdjacencyGraph of(IntGraph graph) {
+        IntAdjacencyGraph copy = new IntAdjacencyGraph(graph.vertexCount());
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            int d = graph.degree(v);
+            copy.neighbors[v] = new int[d];
+            copy.weights[v] = new int[d];
+            for (int i = 0; i < d; i++) {
+                copy.neighbors[v][i] = graph.neighbor(v, i);
+                copy.weights[v][i] = graph.weight(v, i);
+            }
+            copy.degree[v] = d;
+        }
+        copy.edgeCount = graph.edgeCount();
+        return copy;
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Return the degree of the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public int degree(int v) {
+        assert v >= 0 && v < vertexCount;
+        return degree[v];
+    }
+
+    /**
+     * Return the i'th neighbor of the specified vertex.
+     * Pre: The vertex is in the graph, and 0 <= i < degree(v).
+     */
+    @Override
+    public int neighbor(int v, int i) {
+        assert i < degree[v];
+        return neighbors[v][i];
+    }
+
+    /**
+     * Return the weight of the edge to the i'th neighbor of the specified vertex.
+     * Pre: The vertex is in the graph, and 0 <= i < degree(v).
+     */
+    @Override
+    public int weight(int v, int i) {
+        assert i < degree[v];
+        return weights[v][i];
+    }
+
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public void forEachNeighbor(int v, IntIntConsumer action) {
+        int[] vNeighbors = neighbors[v];
+        int[] vWeights = weights[v];
+        for (int i = 0; i < degree[v]; i++) {
+            action.accept(vNeighbors[i], vWeights[i]);
+        }
+    }
+
+    /**
+     * Return true, if the specified vertices are neighbors.
+     * Pre: The vertices are vertices in the graph.
+     */
+    public boolean areAdjacent(int u, int v) {
+        return indexOf(u, v) >= 0;
+    }
+
+    /** Add a vertex to the graph and return it. */
+    public int addVertex() {
+        if (vertexCount == degree.length) {
+            int capacity = 2 * vertexCount;
+            neighbors = Arrays.copyOf(neighbors, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            degree = Arrays.copyOf(degree, capacity);
+            Arrays.fill(neighbors, vertexCount, capacity, NO_NEIGHBORS);
+            Arrays.fill(weights, vertexCount, capacity, NO_NEIGHBORS);
+        }
+        return vertexCount++;
+    }
+
+    /**
+     * Add an edge with the specified weight between the specified vertices to the graph.
+     * Pre: Before addition, the vertices are in the graph, and the edge is not in the graph.
+     * Pre: The weight is not negative.
+     */
+    public void addEdge(int u, int v, int weight) {
+        assert u >= 0 && u < vertexCount && v >= 0 && v < vertexCount;
+        assert !areAdjacent(u, v);
+        assert weight >= 0;
+        addArc(u, v, weight);
+        if (u != v) addArc(v, u, weight);
+        edgeCount++;
+    }
+
+    /**
+     * Remove the edge between the specified vertices from the graph.
+     * Pre: The vertices are vertices in the graph,
+     *   and The graph has an edge between the vertices.
+     */
+    public void removeEdge(int u, int v) {
+        removeArc(u, indexOf(u, v));
+        if (u != v) removeArc(v, indexOf(v, u));
+        edgeCount--;
+    }
+
+    private void addArc(int u, int v, int weight) {
+        if (degree[u] == neighbors[u].length) {
+            int capacity = Math.max(2 * degree[u], 4);
+            neighbors[u] = Arrays.copyOf(neighbors[u], capacity);
+            weights[u] = Arrays.copyOf(weights[u], capacity);
+        }
+        neighbors[u][degree[u]] = v;
+        weights[u][degree[u]] = weight;
+        degree[u]++;
+    }
+
+    private void removeArc(int u, int i) {
+        assert i >= 0;
+        int last = --degree[u];
+        neighbors[u][i] = neighbors[u][last];
+        weights[u][i] = weights[u][last];
+    }
+
+    // Return the index of v among the neighbors of u, or -1 if they are not adjacent.
+    private int indexOf(int u, int v) {
+        int[] uNeighbors = neighbors[u];
+        for (int i = 0; i < degree[u]; i++) {
+            if (uNeighbors[i] == v) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,43 @@
+package graphalgorithms;
+
+/**
+ * Graph with the vertices 0..vertexCount()-1, read without boxing.
+ * The neighbors of a vertex are numbered 0..degree(v)-1, and every undirected edge
+ * is a neighbor of both its ends (a self loop only once).
+ */
+public interface IntGraph {
+    /** Return the number of vertices. */
+    int vertexCount();
+
+    /** Return the number of edges. */
+    int edgeCount();
+
+    /**
+     * Return the degree of the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    int degree(int v);
+
+    /**
+     * Return the i'th neighbor of the specified vertex.
+     * Pre: The vertex is in the graph, and 0 <= i < degree(v).
+     */
+    int neighbor(int v, int i);
+
+    /**
+     * Return the weight of the edge to the i'th neighbor of the specified vertex.
+     * Pre: The vertex is in the graph, and 0 <= i < degree(v).
+     */
+    int weight(int v, int i);
+
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    default void forEachNeighbor(int v, IntIntConsumer action) {
+        int degree = degree(v);
+        for (int i = 0; i < degree; i++) {
+            action.accept(neighbor(v, i), weight(v, i));
+        }
+    }
+}
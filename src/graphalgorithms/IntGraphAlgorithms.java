@@ -0,0 +1,174 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Traversals, minimum spanning trees and shortest paths on an IntGraph.
+ * Every method allocates its arrays up front and then runs without allocating or boxing;
+ * neighbors are read by index, not through forEachNeighbor, so no lambda is created per vertex.
+ */
+public class IntGraphAlgorithms {
+    /**
+     * Return the vertices found by a Breath-First traversal (BFT) of the graph starting at the specified vertex,
+     * in the order they were found.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public static int[] bfs(IntGraph graph, int v) {
+        int n = graph.vertexCount();
+        if (v < 0 || v >= n) throw new NoSuchElementException();
+        boolean[] visited = new boolean[n];
+        // the queue is the prefix of order that has not been expanded yet
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        visited[v] = true;
+        order[tail++] = v;
+        while (head < tail) {
+            int u = order[head++];
+            int degree = graph.degree(u);
+            for (int i = 0; i < degree; i++) {
+                int w = graph.neighbor(u, i);
+                if (!visited[w]) {
+                    visited[w] = true;
+                    order[tail++] = w;
+                }
+            }
+        }
+        return Arrays.copyOf(order, tail);
+    }
+
+    /**
+     * Return the vertices found by a Depth-First traversal (DFT) of the graph starting at the specified vertex,
+     * in the order they were found.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public static int[] dfs(IntGraph graph, int v) {
+        int n = graph.vertexCount();
+        if (v < 0 || v >= n) throw new NoSuchElementException();
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        int count = 0;
+        // stack of vertices and the index of the next neighbor to try for each of them
+        int[] stack = new int[n];
+        int[] next = new int[n];
+        int top = 0;
+
+        visited[v] = true;
+        order[count++] = v;
+        stack[0] = v;
+        next[0] = 0;
+        while (top >= 0) {
+            int u = stack[top];
+            int degree = graph.degree(u);
+            int i = next[top];
+            while (i < degree && visited[graph.neighbor(u, i)]) i++;
+            if (i == degree) {
+                top--;
+            } else {
+                next[top] = i + 1;
+                int w = graph.neighbor(u, i);
+                visited[w] = true;
+                order[count++] = w;
+                top++;
+                stack[top] = w;
+                next[top] = 0;
+            }
+        }
+        return Arrays.copyOf(order, count);
+    }
+
+    /**
+     * Return a minimum spanning tree (MST) found by Prim's algorithm, as the parent of every vertex in the tree,
+     * -1 for the root. If the graph is not connected, return a minimum spanning forest
+     * with the smallest vertex of every component as its root.
+     */
+    public static int[] mst(IntGraph graph) {
+        int n = graph.vertexCount();
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+        // weight of the lightest edge from the tree to every vertex not in it
+        int[] lightest = new int[n];
+        Arrays.fill(lightest, Integer.MAX_VALUE);
+        boolean[] inTree = new boolean[n];
+        IndexedMinHeap Q = new IndexedMinHeap(n);
+
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) continue;
+            lightest[root] = 0;
+            Q.insert(root, 0);
+            while (!Q.isEmpty()) {
+                int u = Q.poll();
+                inTree[u] = true;
+                int degree = graph.degree(u);
+                for (int i = 0; i < degree; i++) {
+                    int z = graph.neighbor(u, i);
+                    int w = graph.weight(u, i);
+                    if (!inTree[z] && w < lightest[z]) {
+                        lightest[z] = w;
+                        parent[z] = u;
+                        Q.insertOrDecrease(z, w);
+                    }
+                }
+            }
+        }
+        return parent;
+    }
+
+    /**
+     * Return an array with the total weight of the shortest path from the specified vertex to every vertex,
+     * Long.MAX_VALUE for unreachable vertices.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public static long[] dijkstra(IntGraph graph, int v) {
+        long[] distance = new long[graph.vertexCount()];
+        dijkstra(graph, v, distance, null, new DijkstraWorkspace(graph.vertexCount()));
+        return distance;
+    }
+
+    /**
+     * Fill distance with the total weight of the shortest path from the specified vertex to every vertex,
+     * Long.MAX_VALUE for unreachable vertices, and predecessor (unless it is null) with the previous vertex
+     * on a shortest path, -1 for the source and unreachable vertices.
+     * Lets repeated searches reuse the result arrays and the workspace, so they do not allocate.
+     * Pre: The arrays have a length of at least vertexCount(). The workspace is not used by another thread.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public static void dijkstra(IntGraph graph, int v, long[] distance, int[] predecessor,
+                                DijkstraWorkspace workspace) {
+        int n = graph.vertexCount();
+        if (v < 0 || v >= n) throw new NoSuchElementException();
+        Arrays.fill(distance, 0, n, Long.MAX_VALUE);
+        if (predecessor != null) Arrays.fill(predecessor, 0, n, -1);
+        distance[v] = 0;
+
+        IndexedMinHeap Q = workspace.heap;
+        // left over if the previous search threw
+        Q.clear();
+        Q.insert(v, 0);
+        while (!Q.isEmpty()) {
+            int u = Q.poll();
+            int degree = graph.degree(u);
+            for (int i = 0; i < degree; i++) {
+                int z = graph.neighbor(u, i);
+                long d = distance[u] + graph.weight(u, i);
+                if (d < distance[z]) {
+                    distance[z] = d;
+                    if (predecessor != null) predecessor[z] = u;
+                    Q.insertOrDecrease(z, d);
+                }
+            }
+        }
+    }
+
+    /** Priority queue of dijkstra, kept between searches. The queue grows to the largest graph searched. */
+    public static final class DijkstraWorkspace {
+        private final IndexedMinHeap heap;
+
+        /** Construct a workspace for graphs of up to the specified number of vertices. */
+        public DijkstraWorkspace(int vertexCount) {
+            heap = new IndexedMinHeap(vertexCount);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package graphalgorithms;
+
+/**
+ * Operation on two ints, like BiConsumer without boxing.
+ * Used by IntGraph for a neighbor and the weight of the edge to it.
+ */
+@FunctionalInterface
+public interface IntIntConsumer {
+    void accept(int a, int b);
+}
@@ -0,0 +1,57 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of ints, without boxing.
+ */
+class IntList {
+    private int[] elements;
+    private int size;
+
+    IntList() {
+        this(16);
+    }
+
+    IntList(int capacity) {
+        elements = new int[Math.max(capacity, 1)];
+        size = 0;
+    }
+
+    void add(int x) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * size);
+        }
+        elements[size++] = x;
+    }
+
+    int get(int i) {
+        return elements[i];
+    }
+
+    /** Remove the last element and return it. Pre: The list is not empty. */
+    int removeLast() {
+        return elements[--size];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /** Copy the elements into the array from the specified position. */
+    void copyTo(int[] array, int position) {
+        System.arraycopy(elements, 0, array, position, size);
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
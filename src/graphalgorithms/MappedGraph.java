@@ -0,0 +1,453 @@
+package graphalgorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Read-only graph backed by a memory-mapped file written by MappedGraph.write.
+ * The file holds a CSR adjacency (see CsrGraph) and a vertex dictionary, and every read goes
+ * straight to the mapped buffers, so opening is constant time and the heap does not grow with the graph.
+ * Vertices are stored as the UTF-8 bytes of their toString, sorted, and are turned back into
+ * vertices by a parser; a vertex is looked up by binary search in the dictionary.
+ * Adding or removing vertices and edges throws UnsupportedOperationException.
+ *
+ * File layout, all ints little-endian:
+ * header: MAGIC, vertex count n, arc count, edge count, dictionary byte count;
+ * offsets: n + 1 ints, the arcs of vertex i are offsets[i]..offsets[i+1], sorted by target;
+ * targets and weights: an int per arc; every edge is two arcs, a self loop one arc;
+ * dictionary: n + 1 ints with the start of every vertex string, then the string bytes.
+ */
+public class MappedGraph<V> implements Graph<V> {
+    // "GRF1", first int of the file.
+    private static final int MAGIC = 0x31465247;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    // Size of the buffer used by write.
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final Function<String, V> parser;
+    private final int vertexCount;
+    private final int edgeCount;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+    private final IntBuffer stringOffsets;
+    private final ByteBuffer strings;
+
+    //-----------------------------------------------------
+
+    private MappedGraph(Function<String, V> parser, int vertexCount, int edgeCount, IntBuffer offsets,
+                        IntBuffer targets, IntBuffer weights, IntBuffer stringOffsets, ByteBuffer strings) {
+        this.parser = parser;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.stringOffsets = stringOffsets;
+        this.strings = strings;
+    }
+
+    /**
+     * Map the specified graph file, turning the vertex strings back into vertices with parser.
+     * Throw exception if the file is not a graph file.
+     */
+    public static <V> MappedGraph<V> open(Path file, Function<String, V> parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) throw new IOException("Not a graph file: " + file);
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) throw new IOException("Not a graph file: " + file);
+            int n = header.getInt();
+            int arcs = header.getInt();
+            int edges = header.getInt();
+            int stringBytes = header.getInt();
+            if (channel.size() != HEADER_BYTES + 8L * (n + 1) + 8L * arcs + stringBytes) {
+                throw new IOException("Truncated graph file: " + file);
+            }
+            long position = HEADER_BYTES;
+            IntBuffer offsets = map(channel, position, 4L * (n + 1)).asIntBuffer();
+            position += 4L * (n + 1);
+            IntBuffer targets = map(channel, position, 4L * arcs).asIntBuffer();
+            position += 4L * arcs;
+            IntBuffer weights = map(channel, position, 4L * arcs).asIntBuffer();
+            position += 4L * arcs;
+            IntBuffer stringOffsets = map(channel, position, 4L * (n + 1)).asIntBuffer();
+            position += 4L * (n + 1);
+            ByteBuffer strings = map(channel, position, stringBytes);
+            // the mapping stays valid after the channel is closed
+            return new MappedGraph<>(parser, n, edges, offsets, targets, weights, stringOffsets, strings);
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Write the specified graph to a graph file, which is replaced if it exists.
+     * Vertices are written as their toString, so the strings must be different for different vertices.
+     * Throw exception if two vertices have the same string.
+     */
+    public static <V> void write(Graph<V> graph, Path file) throws IOException {
+        List<V> vertexList = graph.vertices();
+        int n = vertexList.size();
+        // number the vertices in the order of their strings, so open can find them by binary search
+        byte[][] names = new byte[n][];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = String.valueOf(vertexList.get(i)).getBytes(StandardCharsets.UTF_8);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> names[i], Arrays::compareUnsigned));
+        Map<V, Integer> ids = new HashMap<>(2 * n);
+        for (int id = 0; id < n; id++) {
+            if (id > 0 && Arrays.equals(names[order[id - 1]], names[order[id]])) {
+                throw new IllegalArgumentException("Two vertices are written as " + vertexList.get(order[id]));
+            }
+            ids.put(vertexList.get(order[id]), id);
+        }
+
+        List<Edge<V>> edges = graph.edges();
+        int[] offsets = new int[n + 1];
+        for (Edge<V> edge : edges) {
+            int u = ids.get(edge.getU());
+            int v = ids.get(edge.getV());
+            offsets[u + 1]++;
+            if (u != v) offsets[v + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        // arcs packed as target << 32 | weight, so sorting a vertex's arcs sorts them by target
+        long[] arcs = new long[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (Edge<V> edge : edges) {
+            int u = ids.get(edge.getU());
+            int v = ids.get(edge.getV());
+            arcs[next[u]++] = (long) v << 32 | edge.getWeight() & 0xffffffffL;
+            if (u != v) arcs[next[v]++] = (long) u << 32 | edge.getWeight() & 0xffffffffL;
+        }
+        for (int i = 0; i < n; i++) {
+            Arrays.sort(arcs, offsets[i], offsets[i + 1]);
+        }
+
+        int stringBytes = 0;
+        for (byte[] name : names) {
+            stringBytes += name.length;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(n).putInt(arcs.length).putInt(edges.size()).putInt(stringBytes);
+            for (int offset : offsets) {
+                putInt(channel, buffer, offset);
+            }
+            for (long arc : arcs) {
+                putInt(channel, buffer, (int) (arc >>> 32));
+            }
+            for (long arc : arcs) {
+                putInt(channel, buffer, (int) arc);
+            }
+            int start = 0;
+            for (int id = 0; id < n; id++) {
+                putInt(channel, buffer, start);
+                start += names[order[id]].length;
+            }
+            putInt(channel, buffer, start);
+            for (int id = 0; id < n; id++) {
+                byte[] name = names[order[id]];
+                for (int i = 0; i < name.length; ) {
+                    if (!buffer.hasRemaining()) flush(channel, buffer);
+                    int length = Math.min(buffer.remaining(), name.length - i);
+                    buffer.put(name, i, length);
+                    i += length;
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static void putInt(FileChannel channel, ByteBuffer buffer, int x) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) flush(channel, buffer);
+        buffer.putInt(x);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Return the number of vertices. */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /** Return the number of edges. */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /** Return a list with the vertices in the graph. */
+    @Override
+    public List<V> vertices() {
+        List<V> vertices = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            vertices.add(vertex(i));
+        }
+        return vertices;
+    }
+
+    /** Return a list with the edges in the graph. */
+    @Override
+    public List<Edge<V>> edges() {
+        List<Edge<V>> edges = new ArrayList<>(edgeCount);
+        for (int u = 0; u < vertexCount; u++) {
+            V uVertex = null;
+            for (int arc = offsets.get(u); arc < offsets.get(u + 1); arc++) {
+                int v = targets.get(arc);
+                // every edge is stored at both ends, only report it from its smaller end
+                if (u <= v) {
+                    if (uVertex == null) uVertex = vertex(u);
+                    edges.add(new Edge<>(uVertex, vertex(v), weights.get(arc)));
+                }
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Return a list with the neighbors of the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<V> neighbors(V v) {
+        int id = id(v);
+        List<V> neighbors = new ArrayList<>(offsets.get(id + 1) - offsets.get(id));
+        for (int arc = offsets.get(id); arc < offsets.get(id + 1); arc++) {
+            neighbors.add(vertex(targets.get(arc)));
+        }
+        return neighbors;
+    }
+
+    /**
+     * Return the degree for the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public int degree(V v) {
+        int id = id(v);
+        return offsets.get(id + 1) - offsets.get(id);
+    }
+
+    /**
+     * Return the incident edges to the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<Edge<V>> incidentEdges(V v) {
+        int id = id(v);
+        List<Edge<V>> edges = new ArrayList<>(offsets.get(id + 1) - offsets.get(id));
+        for (int arc = offsets.get(id); arc < offsets.get(id + 1); arc++) {
+            edges.add(new Edge<>(v, vertex(targets.get(arc)), weights.get(arc)));
+        }
+        return edges;
+    }
+
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+        int id = id(v);
+        for (int arc = offsets.get(id); arc < offsets.get(id + 1); arc++) {
+            action.accept(vertex(targets.get(arc)), weights.get(arc));
+        }
+    }
+
+    /**
+     * Return a new cursor over the neighbors of the vertices in the graph.
+     * Reset it to a vertex before use; it can be reused for any number of vertices.
+     * The cursor walks the mapped arcs, but still decodes every neighbor from the file.
+     */
+    @Override
+    public NeighborCursor<V> neighborCursor() {
+        return new NeighborCursor<>() {
+            private V vertex;
+            private int arc;
+            private int end;
+
+            @Override
+            public void reset(V v) {
+                int id = id(v);
+                vertex = v;
+                arc = offsets.get(id) - 1;
+                end = offsets.get(id + 1);
+            }
+
+            @Override
+            public boolean next() {
+                return ++arc < end;
+            }
+
+            @Override
+            public V neighbor() {
+                return vertex(targets.get(arc));
+            }
+
+            @Override
+            public int weight() {
+                return weights.get(arc);
+            }
+
+            @Override
+            public Edge<V> edge() {
+                return new Edge<>(vertex, neighbor(), weight());
+            }
+        };
+    }
+
+    /**
+     * Return true, if the specified vertices are neighbors.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public boolean areAdjacent(V u, V v) {
+        return arc(id(u), id(v)) >= 0;
+    }
+
+    /**
+     * Return the edge between the specified vertices, or null if they are not adjacent.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public Edge<V> getEdge(V u, V v) {
+        int arc = arc(id(u), id(v));
+        return arc < 0 ? null : new Edge<>(u, v, weights.get(arc));
+    }
+
+    // Return the arc from uId to vId, or -1 if there is none.
+    private int arc(int uId, int vId) {
+        // the arcs of a vertex are sorted by target
+        int low = offsets.get(uId);
+        int high = offsets.get(uId + 1) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int target = targets.get(middle);
+            if (target < vId) {
+                low = middle + 1;
+            } else if (target > vId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /** Print the vertices and the edges. */
+    @Override
+    public void printGraph() {
+        System.out.println("Vertices: " + vertices());
+        System.out.println("Edges: " + edges());
+    }
+
+    /** Not supported, the graph is read-only. */
+    @Override
+    public void addVertex(V v) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    /** Not supported, the graph is read-only. */
+    @Override
+    public Edge<V> addEdge(V u, V v, int weight) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    /** Not supported, the graph is read-only. */
+    @Override
+    public Edge<V> addEdge(V u, V v) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    /** Not supported, the graph is read-only. */
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    /** Not supported, the graph is read-only. */
+    @Override
+    public void removeVertex(V v) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    /** Not supported, the graph is read-only. */
+    @Override
+    public void removeEdge(V u, V v) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    /** Not supported, the graph is read-only. */
+    @Override
+    public void removeEdges(Collection<Edge<V>> edges) {
+        throw new UnsupportedOperationException("MappedGraph is read-only");
+    }
+
+    // Return the vertex with the specified id, parsed from the dictionary.
+    private V vertex(int id) {
+        int start = stringOffsets.get(id);
+        byte[] bytes = new byte[stringOffsets.get(id + 1) - start];
+        strings.get(start, bytes);
+        return parser.apply(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    // Return the id of the specified vertex, by binary search in the sorted dictionary.
+    private int id(V v) {
+        byte[] name = String.valueOf(v).getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = vertexCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int c = compareName(middle, name);
+            if (c < 0) {
+                low = middle + 1;
+            } else if (c > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        throw new NoSuchElementException();
+    }
+
+    // Compare the string of the vertex with the specified id to name, as unsigned bytes.
+    private int compareName(int id, byte[] name) {
+        int start = stringOffsets.get(id);
+        int length = stringOffsets.get(id + 1) - start;
+        int common = Math.min(length, name.length);
+        for (int i = 0; i < common; i++) {
+            int c = Byte.compareUnsigned(strings.get(start + i), name[i]);
+            if (c != 0) return c;
+        }
+        return Integer.compare(length, name.length);
+    }
+}
@@ -0,0 +1,184 @@
+package graphalgorithms;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Optional instrumentation of the algorithms in GraphAlgorithms.
+ * Enabled by starting the JVM with -Dgraphalgorithms.metrics=true. ENABLED is a constant,
+ * so when it is false the JIT removes the instrumentation and the algorithms run as if it was not there.
+ * When enabled, every call counts its work in a CallStats, which is added to the totals
+ * and latency histogram of its algorithm and passed to the listeners.
+ */
+public class Metrics {
+    /** True, if the algorithms are instrumented. */
+    public static final boolean ENABLED = Boolean.getBoolean("graphalgorithms.metrics");
+
+    private static final Map<String, Aggregate> AGGREGATES = new ConcurrentHashMap<>();
+    private static final List<Consumer<CallStats>> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<CallStats> LAST_CALL = new ThreadLocal<>();
+
+    /** Return true, if the algorithms are instrumented. */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /** Return the stats of the last instrumented call on this thread, or null if there is none. */
+    public static CallStats lastCall() {
+        return LAST_CALL.get();
+    }
+
+    /** Add a listener to be given the stats of every instrumented call, on the thread that made it. */
+    public static void addListener(Consumer<CallStats> listener) {
+        LISTENERS.add(listener);
+    }
+
+    /** Remove the specified listener. */
+    public static void removeListener(Consumer<CallStats> listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /** Return the stats of every algorithm that has been called, ordered by name. */
+    public static List<AlgorithmStats> snapshot() {
+        List<AlgorithmStats> snapshot = new ArrayList<>();
+        for (Aggregate aggregate : new TreeMap<>(AGGREGATES).values()) {
+            snapshot.add(aggregate.snapshot());
+        }
+        return snapshot;
+    }
+
+    /** Forget all recorded calls. */
+    public static void reset() {
+        AGGREGATES.clear();
+    }
+
+    /**
+     * Register the metrics with the platform MBean server as graphalgorithms:type=Metrics.
+     * Registering them again has no effect.
+     */
+    public static void registerMBean() {
+        Management.register();
+    }
+
+    //-----------------------------------------------------
+
+    // Return the stats to count a call of the specified algorithm in, or null if metrics are disabled.
+    static CallStats start(String algorithm) {
+        if (!ENABLED) return null;
+        return new CallStats(algorithm, System.nanoTime(), allocatedBytes());
+    }
+
+    // Record the call counted in stats. Does nothing if stats is null.
+    static void finish(CallStats stats) {
+        if (!ENABLED || stats == null) return;
+        stats.finish(System.nanoTime(), allocatedBytes());
+        AGGREGATES.computeIfAbsent(stats.getAlgorithm(), Aggregate::new).add(stats);
+        LAST_CALL.set(stats);
+        for (Consumer<CallStats> listener : LISTENERS) {
+            listener.accept(stats);
+        }
+    }
+
+    // Bytes allocated by the current thread, or -1 if the JVM cannot tell.
+    private static long allocatedBytes() {
+        if (Management.THREADS instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    // Management objects, loaded on first use so that disabled metrics do not start JMX.
+    private static class Management {
+        static final ObjectName NAME = objectName("graphalgorithms:type=Metrics");
+        static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        static void register() {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(NAME)) return;
+            MetricsMXBean bean = new MetricsMXBean() {
+                @Override
+                public boolean isEnabled() {
+                    return ENABLED;
+                }
+
+                @Override
+                public List<AlgorithmStats> getAlgorithms() {
+                    return snapshot();
+                }
+
+                @Override
+                public void reset() {
+                    Metrics.reset();
+                }
+            };
+            try {
+                server.registerMBean(bean, NAME);
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register " + NAME, e);
+            }
+        }
+
+        private static ObjectName objectName(String name) {
+            try {
+                return new ObjectName(name);
+            } catch (JMException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+
+    // Totals of one algorithm, updated by many threads.
+    private static class Aggregate {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder verticesSettled = new LongAdder();
+        private final LongAdder edgesRelaxed = new LongAdder();
+        private final LongAdder heapOperations = new LongAdder();
+        private final LongAdder neighborCalls = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        // calls by the number of bits in their latency in nanoseconds
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(Long.SIZE);
+
+        Aggregate(String name) {
+            this.name = name;
+        }
+
+        void add(CallStats stats) {
+            long nanos = Math.max(stats.getElapsedNanos(), 0);
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            verticesSettled.add(stats.verticesSettled);
+            edgesRelaxed.add(stats.edgesRelaxed);
+            heapOperations.add(stats.heapOperations);
+            neighborCalls.add(stats.neighborCalls);
+            if (stats.getAllocatedBytes() >= 0) allocatedBytes.add(stats.getAllocatedBytes());
+            latencyHistogram.incrementAndGet(Math.min(Long.SIZE - Long.numberOfLeadingZeros(nanos), Long.SIZE - 1));
+        }
+
+        AlgorithmStats snapshot() {
+            long[] histogram = new long[latencyHistogram.length()];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = latencyHistogram.get(i);
+            }
+            return new AlgorithmStats(name, calls.sum(), totalNanos.sum(), maxNanos.get(), verticesSettled.sum(),
+                    edgesRelaxed.sum(), heapOperations.sum(), neighborCalls.sum(), allocatedBytes.sum(), histogram);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package graphalgorithms;
+
+import java.util.List;
+
+/** JMX view of Metrics, registered by Metrics.registerMBean as graphalgorithms:type=Metrics. */
+public interface MetricsMXBean {
+    /** Return true, if the algorithms are instrumented. */
+    boolean isEnabled();
+
+    /** Return the stats of every algorithm that has been called. */
+    List<AlgorithmStats> getAlgorithms();
+
+    /** Forget all recorded calls. */
+    void reset();
+}
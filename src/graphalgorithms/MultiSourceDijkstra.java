@@ -0,0 +1,106 @@
+package graphalgorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dijkstra from many sources of the same CSR graph, spread over the workers of a fork-join pool.
+ * Every worker takes the next source until there are none left, and reuses its own distance array
+ * and heap for all of them, so a batch allocates O(workers * n) memory however many sources it has.
+ */
+public class MultiSourceDijkstra {
+    /** Receiver of the distances from one source. */
+    @FunctionalInterface
+    public interface DistanceConsumer {
+        /**
+         * Accept the total weight of the shortest path from the source to every vertex, indexed by vertex id,
+         * Integer.MAX_VALUE for unreachable vertices.
+         * The array is reused for the next source of the worker, so it must be copied to be kept.
+         */
+        void accept(int source, int[] distance);
+    }
+
+    /**
+     * Run Dijkstra from every specified source id on the common fork-join pool,
+     * and pass the distances from every source to consumer as soon as they are known.
+     * consumer is called from the worker threads, possibly at the same time, in no particular order.
+     * Throw exception if an id is not in the graph.
+     */
+    public static <V> void dijkstra(CsrGraph<V> graph, int[] sources, DistanceConsumer consumer) {
+        dijkstra(graph, sources, consumer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Run Dijkstra from every specified source id on the specified fork-join pool, with at most
+     * one worker per thread of the pool, and pass the distances from every source to consumer
+     * as soon as they are known.
+     * consumer is called from the worker threads, possibly at the same time, in no particular order.
+     * Throw exception if an id is not in the graph.
+     */
+    public static <V> void dijkstra(CsrGraph<V> graph, int[] sources, DistanceConsumer consumer, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        for (int source : sources) {
+            if (source < 0 || source >= n) throw new NoSuchElementException();
+        }
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(pool.getParallelism(), sources.length);
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            futures.add(pool.submit(() -> {
+                int[] D = new int[n];
+                IndexedMinHeap Q = new IndexedMinHeap(n);
+                for (int i = next.getAndIncrement(); i < sources.length; i = next.getAndIncrement()) {
+                    GraphAlgorithms.dijkstra(graph, sources[i], -1, D, null, Q);
+                    consumer.accept(sources[i], D);
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            // stop the other workers, and report the failure of the consumer as is
+            next.set(sources.length);
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Return the matrix of the total weights of the shortest paths between all pairs of vertices,
+     * indexed by source id and then vertex id, Integer.MAX_VALUE for unreachable pairs,
+     * computed on the common fork-join pool.
+     * Takes O(n^2) memory, so it is meant for small graphs.
+     */
+    public static <V> int[][] allPairs(CsrGraph<V> graph) {
+        return allPairs(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Return the matrix of the total weights of the shortest paths between all pairs of vertices,
+     * indexed by source id and then vertex id, Integer.MAX_VALUE for unreachable pairs,
+     * computed on the specified fork-join pool.
+     * Takes O(n^2) memory, so it is meant for small graphs.
+     */
+    public static <V> int[][] allPairs(CsrGraph<V> graph, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        int[] sources = new int[n];
+        for (int i = 0; i < n; i++) {
+            sources[i] = i;
+        }
+        int[][] matrix = new int[n][];
+        // every row is written by one worker and read after all workers are done
+        dijkstra(graph, sources, (source, distance) -> matrix[source] = distance.clone(), pool);
+        return matrix;
+    }
+}
@@ -0,0 +1,27 @@
+package graphalgorithms;
+
+/**
+ * Reusable cursor over the neighbors of a vertex, and the edges to them.
+ * Reset it to a vertex, then call next until it returns false:
+ * {@code cursor.reset(v); while (cursor.next()) { use(cursor.neighbor(), cursor.weight()); }}
+ * A cursor is only valid until the graph is changed, and must not be shared between threads.
+ */
+public interface NeighborCursor<V> {
+    /**
+     * Move the cursor before the first neighbor of the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    void reset(V v);
+
+    /** Move to the next neighbor. Return false if there are no more neighbors. */
+    boolean next();
+
+    /** Return the current neighbor. Pre: The last call to next returned true. */
+    V neighbor();
+
+    /** Return the weight of the edge to the current neighbor. Pre: The last call to next returned true. */
+    int weight();
+
+    /** Return the edge to the current neighbor. Pre: The last call to next returned true. */
+    Edge<V> edge();
+}
@@ -0,0 +1,216 @@
+package graphalgorithms;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Graph that passes every call on to another graph,
+ * and tells its listeners about every vertex and edge added or removed.
+ * Every change also increments the version of the graph.
+ * The changes must be made through this graph to be seen.
+ */
+public class ObservableGraph<V> implements Graph<V> {
+    private final Graph<V> graph;
+    private final List<GraphListener<V>> listeners;
+    // Volatile, so readers on other threads, like ShortestPathCache, see the latest version.
+    private volatile long version;
+
+    //-----------------------------------------------------
+
+    /** Construct an ObservableGraph on top of the specified graph. */
+    public ObservableGraph(Graph<V> graph) {
+        this.graph = graph;
+        listeners = new ArrayList<>();
+        version = 0;
+    }
+
+    /** Return the version of the graph, which is incremented by every change. */
+    public long version() {
+        return version;
+    }
+
+    /** Add a listener to be told about the changes to the graph. */
+    public void addListener(GraphListener<V> listener) {
+        listeners.add(listener);
+    }
+
+    /** Remove the specified listener. */
+    public void removeListener(GraphListener<V> listener) {
+        listeners.remove(listener);
+    }
+
+    /** Return a list with the vertices in the graph. */
+    @Override
+    public List<V> vertices() {
+        return graph.vertices();
+    }
+
+    /** Return a list with the edges in the graph. */
+    @Override
+    public List<Edge<V>> edges() {
+        return graph.edges();
+    }
+
+    /**
+     * Return a list with the neighbors of the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<V> neighbors(V v) {
+        return graph.neighbors(v);
+    }
+
+    /**
+     * Return the degree for the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public int degree(V v) {
+        return graph.degree(v);
+    }
+
+    /**
+     * Return the incident edges to the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<Edge<V>> incidentEdges(V v) {
+        return graph.incidentEdges(v);
+    }
+
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+        graph.forEachNeighbor(v, action);
+    }
+
+    /**
+     * Return a new cursor over the neighbors of the vertices in the graph.
+     * Reset it to a vertex before use; it can be reused for any number of vertices.
+     */
+    @Override
+    public NeighborCursor<V> neighborCursor() {
+        return graph.neighborCursor();
+    }
+
+    /**
+     * Return true, if the specified vertices are neighbors.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public boolean areAdjacent(V u, V v) {
+        return graph.areAdjacent(u, v);
+    }
+
+    /**
+     * Return the edge between the specified vertices, or null if they are not adjacent.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public Edge<V> getEdge(V u, V v) {
+        return graph.getEdge(u, v);
+    }
+
+    /** Print the vertices and the edges. */
+    @Override
+    public void printGraph() {
+        graph.printGraph();
+    }
+
+    /**
+     * Add a vertex to the graph.
+     * Pre: The vertex is not in the graph before this addition.
+     */
+    @Override
+    public void addVertex(V v) {
+        graph.addVertex(v);
+        version++;
+        for (GraphListener<V> listener : listeners) {
+            listener.vertexAdded(v);
+        }
+    }
+
+    /**
+     * Add an edge with the specified weight between the specified vertices to the graph.
+     * Pre: Before addition, the vertices are in the graph, and the edge is not in the graph.
+     * Pre: The weight is not negative.
+     */
+    @Override
+    public Edge<V> addEdge(V u, V v, int weight) {
+        Edge<V> edge = graph.addEdge(u, v, weight);
+        version++;
+        for (GraphListener<V> listener : listeners) {
+            listener.edgeAdded(edge);
+        }
+        return edge;
+    }
+
+    /**
+     * Add an edge with weight 0 between the specified vertices to the graph.
+     * Pre: Before addition, the vertices are in the graph, and the edge is not in the graph.
+     */
+    @Override
+    public Edge<V> addEdge(V u, V v) {
+        return addEdge(u, v, 0);
+    }
+
+    /**
+     * Add the specified edges to the graph, as one change.
+     * Pre: Before addition, the vertices of the edges are in the graph,
+     *   and the edges are not in the graph and are all different.
+     * Pre: The weights are not negative.
+     */
+    @Override
+    public void addEdges(Collection<Edge<V>> edges) {
+        graph.addEdges(edges);
+        version++;
+        for (GraphListener<V> listener : listeners) {
+            listener.edgesAdded(edges);
+        }
+    }
+
+    /**
+     * Remove the specified vertex from the graph.
+     * Pre: The vertex is in the graph, and the vertex has no incident edges.
+     */
+    @Override
+    public void removeVertex(V v) {
+        graph.removeVertex(v);
+        version++;
+        for (GraphListener<V> listener : listeners) {
+            listener.vertexRemoved(v);
+        }
+    }
+
+    /**
+     * Remove the edge between the specified vertices from the graph.
+     * Pre: The vertices are vertices in the graph,
+     *   and The graph has an edge between the vertices.
+     */
+    @Override
+    public void removeEdge(V u, V v) {
+        graph.removeEdge(u, v);
+        version++;
+        for (GraphListener<V> listener : listeners) {
+            listener.edgeRemoved(u, v);
+        }
+    }
+
+    /**
+     * Remove the edges between the vertices of the specified edges from the graph, as one change.
+     * Pre: The graph has all the edges, and they are all different.
+     */
+    @Override
+    public void removeEdges(Collection<Edge<V>> edges) {
+        graph.removeEdges(edges);
+        version++;
+        for (GraphListener<V> listener : listeners) {
+            listener.edgesRemoved(edges);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Level-synchronous parallel Breath-First traversal of a CSR graph on a fork-join pool.
+ * Each level is expanded in parallel chunks. Small frontiers are expanded top-down,
+ * claiming every vertex with a compare-and-set on its parent; large frontiers switch to
+ * bottom-up, where every unvisited vertex looks for a parent in the frontier
+ * (direction-optimizing BFS by Beamer et al.).
+ */
+public class ParallelBfs {
+    // Frontier vertices (top-down) or vertices (bottom-up) handled by one task.
+    private static final int GRAIN = 1024;
+    // Switch to bottom-up when the frontier has more than 1/ALPHA of the unexplored arcs.
+    private static final int ALPHA = 14;
+    // Switch back to top-down when the frontier has less than 1/BETA of the vertices.
+    private static final int BETA = 24;
+
+    /**
+     * Return the BFS order, depths and parents of the vertices of the specified graph
+     * reached from the vertex with the specified id, using the common fork-join pool.
+     * Throw exception if the id is not in the graph.
+     */
+    public static <V> BfsResult bfs(CsrGraph<V> graph, int source) {
+        return bfs(graph, source, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Return the BFS order, depths and parents of the vertices of the specified graph
+     * reached from the vertex with the specified id, using the specified fork-join pool.
+     * Throw exception if the id is not in the graph.
+     */
+    public static <V> BfsResult bfs(CsrGraph<V> graph, int source, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n) throw new NoSuchElementException();
+        int[] offsets = graph.offsets;
+        int[] targets = graph.targets;
+
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        int[] depth = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent.set(i, -1);
+            depth[i] = -1;
+        }
+        // the source is its own parent while searching, so it cannot be claimed
+        parent.set(source, source);
+        depth[source] = 0;
+
+        int[] order = new int[n];
+        int visited = 0;
+        order[visited++] = source;
+        int levelStart = 0;
+        long unexploredArcs = offsets[n] - graph.degree(source);
+        long frontierArcs = graph.degree(source);
+        boolean bottomUp = false;
+
+        for (int level = 0; levelStart < visited; level++) {
+            int frontierSize = visited - levelStart;
+            if (!bottomUp && frontierArcs > unexploredArcs / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+
+            IntList[] found;
+            if (bottomUp) {
+                found = new IntList[(n + GRAIN - 1) / GRAIN];
+                pool.invoke(new BottomUp(offsets, targets, parent, depth, level, found, 0, found.length));
+            } else {
+                found = new IntList[(frontierSize + GRAIN - 1) / GRAIN];
+                pool.invoke(new TopDown(offsets, targets, parent, depth, level, order, levelStart, visited,
+                        found, 0, found.length));
+            }
+
+            levelStart = visited;
+            frontierArcs = 0;
+            for (IntList chunk : found) {
+                chunk.copyTo(order, visited);
+                visited += chunk.size();
+            }
+            for (int i = levelStart; i < visited; i++) {
+                frontierArcs += offsets[order[i] + 1] - offsets[order[i]];
+            }
+            unexploredArcs -= frontierArcs;
+        }
+
+        int[] parents = new int[n];
+        for (int i = 0; i < n; i++) {
+            parents[i] = parent.get(i);
+        }
+        parents[source] = -1;
+        return new BfsResult(Arrays.copyOf(order, visited), depth, parents);
+    }
+
+    // Expand the frontier chunks [from, to): claim the unvisited neighbors of the frontier vertices.
+    @SuppressWarnings("serial") // never serialized
+    private static class TopDown extends RecursiveAction {
+        private final int[] offsets;
+        private final int[] targets;
+        private final AtomicIntegerArray parent;
+        private final int[] depth;
+        private final int level;
+        private final int[] order;
+        private final int frontierStart;
+        private final int frontierEnd;
+        private final IntList[] found;
+        private final int from;
+        private final int to;
+
+        TopDown(int[] offsets, int[] targets, AtomicIntegerArray parent, int[] depth, int level,
+                int[] order, int frontierStart, int frontierEnd, IntList[] found, int from, int to) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.parent = parent;
+            this.depth = depth;
+            this.level = level;
+            this.order = order;
+            this.frontierStart = frontierStart;
+            this.frontierEnd = frontierEnd;
+            this.found = found;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TopDown(offsets, targets, parent, depth, level, order, frontierStart, frontierEnd,
+                                found, from, middle),
+                        new TopDown(offsets, targets, parent, depth, level, order, frontierStart, frontierEnd,
+                                found, middle, to));
+                return;
+            }
+            IntList buffer = new IntList();
+            int end = Math.min(frontierStart + (from + 1) * GRAIN, frontierEnd);
+            for (int i = frontierStart + from * GRAIN; i < end; i++) {
+                int u = order[i];
+                for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                    int w = targets[arc];
+                    if (parent.get(w) < 0 && parent.compareAndSet(w, -1, u)) {
+                        depth[w] = level + 1;
+                        buffer.add(w);
+                    }
+                }
+            }
+            found[from] = buffer;
+        }
+    }
+
+    // Let every unvisited vertex in the vertex chunks [from, to) look for a parent in the frontier.
+    @SuppressWarnings("serial") // never serialized
+    private static class BottomUp extends RecursiveAction {
+        private final int[] offsets;
+        private final int[] targets;
+        private final AtomicIntegerArray parent;
+        private final int[] depth;
+        private final int level;
+        private final IntList[] found;
+        private final int from;
+        private final int to;
+
+        BottomUp(int[] offsets, int[] targets, AtomicIntegerArray parent, int[] depth, int level,
+                 IntList[] found, int from, int to) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.parent = parent;
+            this.depth = depth;
+            this.level = level;
+            this.found = found;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BottomUp(offsets, targets, parent, depth, level, found, from, middle),
+                        new BottomUp(offsets, targets, parent, depth, level, found, middle, to));
+                return;
+            }
+            IntList buffer = new IntList();
+            int end = Math.min((from + 1) * GRAIN, depth.length);
+            for (int v = from * GRAIN; v < end; v++) {
+                if (depth[v] >= 0) continue;
+                for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                    int w = targets[arc];
+                    // depths of this level were all written before the level started
+                    if (depth[w] == level) {
+                        parent.set(v, w);
+                        depth[v] = level + 1;
+                        buffer.add(v);
+                        break;
+                    }
+                }
+            }
+            found[from] = buffer;
+        }
+    }
+}
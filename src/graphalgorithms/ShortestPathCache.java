@@ -0,0 +1,162 @@
+package graphalgorithms;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded least-recently-used cache of single-source shortest paths on an ObservableGraph.
+ * Results are keyed by source vertex and are valid for one version of the graph;
+ * any change to the graph empties the cache on the next lookup.
+ * All results of a version share one CSR snapshot of the graph, so a cached result
+ * costs two int arrays with an entry per vertex.
+ * Safe for concurrent lookups: a miss is computed outside the lock, so it does not hold up hits,
+ * and concurrent lookups of the same source wait for one computation.
+ */
+public class ShortestPathCache<V> {
+    private final ObservableGraph<V> graph;
+    private final int capacity;
+    // Source vertex -> shortest paths, in least recently used order.
+    // An entry is put in before its paths are computed.
+    private final LinkedHashMap<V, CompletableFuture<ShortestPaths<V>>> entries;
+    // Snapshot of the graph at snapshotVersion, made by the first lookup of the version.
+    // null before the first lookup.
+    private CompletableFuture<CsrGraph<V>> snapshot;
+    private long snapshotVersion;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Construct an empty cache for the specified graph holding at most capacity results.
+     * Pre: capacity is positive.
+     */
+    public ShortestPathCache(ObservableGraph<V> graph, int capacity) {
+        assert capacity > 0;
+        this.graph = graph;
+        this.capacity = capacity;
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<V, CompletableFuture<ShortestPaths<V>>> eldest) {
+                if (size() > ShortestPathCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Return the shortest paths from the specified vertex in the current version of the graph,
+     * from the cache if possible.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public ShortestPaths<V> shortestPaths(V source) {
+        CompletableFuture<CsrGraph<V>> csr;
+        CompletableFuture<ShortestPaths<V>> paths;
+        boolean newSnapshot = false;
+        boolean miss = false;
+        synchronized (this) {
+            long version = graph.version();
+            if (snapshot == null || snapshotVersion != version) {
+                invalidations += entries.size();
+                entries.clear();
+                snapshot = new CompletableFuture<>();
+                snapshotVersion = version;
+                newSnapshot = true;
+            }
+            csr = snapshot;
+            paths = entries.get(source);
+            if (paths != null) {
+                hits++;
+            } else {
+                misses++;
+                miss = true;
+                paths = new CompletableFuture<>();
+                entries.put(source, paths);
+            }
+        }
+
+        if (newSnapshot) {
+            complete(csr, () -> CsrGraph.of(graph));
+            if (csr.isCompletedExceptionally()) {
+                synchronized (this) {
+                    if (snapshot == csr) snapshot = null;
+                }
+            }
+        }
+        if (miss) {
+            complete(paths, () -> {
+                CsrGraph<V> g = join(csr);
+                return GraphAlgorithms.shortestPaths(g, g.id(source));
+            });
+            // a failed lookup, like one of a vertex not in the graph, is not cached
+            if (paths.isCompletedExceptionally()) {
+                synchronized (this) {
+                    entries.remove(source, paths);
+                }
+            }
+        }
+        return join(paths);
+    }
+
+    /**
+     * Return a map containing (vertex, weight) pairs like GraphAlgorithms.dijkstra,
+     * from the cache if possible.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public Map<V, Integer> dijkstra(V source) {
+        return shortestPaths(source).distances();
+    }
+
+    /** Return the number of results in the cache. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Return the number of lookups answered from the cache. */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /** Return the number of lookups that had to compute the shortest paths. */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /** Return the number of results dropped to make room for newer ones. */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /** Return the number of results dropped because the graph changed. */
+    public synchronized long invalidations() {
+        return invalidations;
+    }
+
+    //-----------------------------------------------------
+
+    // Complete the future with the value of the supplier, or with the exception it throws.
+    private static <T> void complete(CompletableFuture<T> future, Supplier<T> supplier) {
+        try {
+            future.complete(supplier.get());
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    // Return the value of the future, or throw the exception it was completed with.
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+}
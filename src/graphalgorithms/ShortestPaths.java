@@ -0,0 +1,119 @@
+package graphalgorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Result of a single-source shortest path search.
+ * Holds the distance and the predecessor on a shortest path for every vertex,
+ * indexed by vertex id.
+ */
+public class ShortestPaths<V> {
+    // Vertex for every id.
+    private final Object[] vertices;
+    // Id for every vertex.
+    private final Map<V, Integer> ids;
+    // Distance from the source, Integer.MAX_VALUE if not reached.
+    private final int[] distance;
+    // Id of the predecessor on a shortest path, -1 for the source and unreached vertices.
+    private final int[] predecessor;
+    private final int source;
+
+    ShortestPaths(Object[] vertices, Map<V, Integer> ids, int[] distance, int[] predecessor, int source) {
+        this.vertices = vertices;
+        this.ids = ids;
+        this.distance = distance;
+        this.predecessor = predecessor;
+        this.source = source;
+    }
+
+    /** Return the source vertex of the search. */
+    public V source() {
+        return vertex(source);
+    }
+
+    /**
+     * Return the total weight of the shortest path from the source to the specified vertex,
+     * or Integer.MAX_VALUE if no path was found.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public int distanceTo(V v) {
+        return distance[id(v)];
+    }
+
+    /**
+     * Return true if a path from the source to the specified vertex was found.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public boolean hasPathTo(V v) {
+        return distance[id(v)] != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Return the vertex before the specified vertex on the shortest path from the source,
+     * or null for the source and for vertices without a path.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public V predecessor(V v) {
+        int p = predecessor[id(v)];
+        return p < 0 ? null : vertex(p);
+    }
+
+    /**
+     * Return the vertices on the shortest path from the source to the specified vertex,
+     * both included, or an empty list if no path was found.
+     * Throw exception if the vertex is not in the graph.
+     */
+    public List<V> pathTo(V v) {
+        int id = id(v);
+        if (distance[id] == Integer.MAX_VALUE) return new ArrayList<>();
+        List<V> path = new ArrayList<>();
+        for (int x = id; x >= 0; x = predecessor[x]) {
+            path.add(vertex(x));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Return a map containing (vertex, weight) pairs,
+     * where weight is the total weight of the shortest path from the source to the vertex,
+     * or Integer.MAX_VALUE if no path was found.
+     */
+    public Map<V, Integer> distances() {
+        Map<V, Integer> D = new HashMap<>(vertices.length * 2);
+        for (int i = 0; i < vertices.length; i++) {
+            D.put(vertex(i), distance[i]);
+        }
+        return D;
+    }
+
+    /**
+     * Return a map containing (vertex, predecessor) pairs
+     * for every vertex other than the source that was reached.
+     */
+    public Map<V, V> predecessors() {
+        Map<V, V> P = new HashMap<>();
+        for (int i = 0; i < vertices.length; i++) {
+            if (predecessor[i] >= 0) {
+                P.put(vertex(i), vertex(predecessor[i]));
+            }
+        }
+        return P;
+    }
+
+    private int id(V v) {
+        Integer id = ids.get(v);
+        if (id == null) throw new NoSuchElementException();
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertex(int id) {
+        return (V) vertices[id];
+    }
+}
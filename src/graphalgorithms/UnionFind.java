@@ -0,0 +1,95 @@
+package graphalgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint sets of the ints 0..size-1 (union-find),
+ * with path compression and union by rank.
+ */
+public class UnionFind {
+    // Parent of every element, a root is its own parent.
+    private int[] parent;
+    // Upper bound of the height of every root's tree.
+    private byte[] rank;
+    private int count;
+    private int size;
+
+    /** Construct size singleton sets. */
+    public UnionFind(int size) {
+        parent = new int[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        rank = new byte[size];
+        count = size;
+        this.size = size;
+    }
+
+    /** Add a new singleton set and return its element, which is the old size(). */
+    public int add() {
+        if (size == parent.length) {
+            parent = Arrays.copyOf(parent, Math.max(2 * size, 16));
+            rank = Arrays.copyOf(rank, parent.length);
+        }
+        parent[size] = size;
+        rank[size] = 0;
+        count++;
+        return size++;
+    }
+
+    /** Return the number of elements. */
+    public int size() {
+        return size;
+    }
+
+    /** Return the number of disjoint sets. */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Return the representative of the set containing the specified element.
+     * Pre: 0 <= x < size().
+     */
+    public int find(int x) {
+        int root = x;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    /**
+     * Return true if the specified elements are in the same set.
+     * Pre: 0 <= x, y < size().
+     */
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    /**
+     * Merge the sets containing the specified elements.
+     * Return true if they were in different sets.
+     * Pre: 0 <= x, y < size().
+     */
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+        if (rootX == rootY) return false;
+        if (rank[rootX] < rank[rootY]) {
+            parent[rootX] = rootY;
+        } else if (rank[rootX] > rank[rootY]) {
+            parent[rootY] = rootX;
+        } else {
+            parent[rootY] = rootX;
+            rank[rootX]++;
+        }
+        count--;
+        return true;
+    }
+}
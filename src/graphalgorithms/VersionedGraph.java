@@ -0,0 +1,763 @@
+package graphalgorithms;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Graph that keeps every version of itself immutable, so long-running queries can read a consistent
+ * snapshot while writers keep changing the graph.
+ * A version maps vertex numbers to immutable arrays of incident edges through a 32-way trie;
+ * a change copies the arrays of the changed vertices and the trie nodes above them,
+ * and shares everything else with the previous version.
+ * Writers are serialized; readers never lock.
+ * The number of a removed vertex is reused once no open snapshot can still see the vertex.
+ * <p>
+ * Usage: {@code try (VersionedGraph.Snapshot<V> s = graph.snapshot()) { GraphAlgorithms.mst(s); }}
+ */
+public class VersionedGraph<V> implements Graph<V> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    // Number of every vertex in the graph, and of the removed vertices that have not been reclaimed.
+    private final ConcurrentHashMap<V, Integer> numbers;
+    private int nextNumber;
+    // Numbers of removed vertices that can be given to new ones.
+    private final IntList freeNumbers;
+    // Removed vertices in the order of removal, whose numbers may still be looked up by a snapshot.
+    private final ArrayDeque<Removal<V>> removals;
+    // Incremented before the numbers of removed vertices are reclaimed, so snapshot can tell it raced with that.
+    private volatile long reclaims;
+    private volatile Version<V> current;
+    private final Set<Snapshot<V>> pinned;
+
+    //-----------------------------------------------------
+
+    /** Construct an empty VersionedGraph. */
+    public VersionedGraph() {
+        numbers = new ConcurrentHashMap<>();
+        nextNumber = 0;
+        freeNumbers = new IntList();
+        removals = new ArrayDeque<>();
+        current = new Version<>(numbers, new Object[WIDTH], 0, 0, 0, 0);
+        pinned = ConcurrentHashMap.newKeySet();
+    }
+
+    /** Return the version of the graph, which is incremented by every change. */
+    public long version() {
+        return current.number;
+    }
+
+    /**
+     * Return a read-only snapshot of the current version of the graph.
+     * The snapshot does not see later changes, and must be closed to release it.
+     */
+    public Snapshot<V> snapshot() {
+        while (true) {
+            long reclaimed = reclaims;
+            Snapshot<V> snapshot = new Snapshot<>(this, current);
+            pinned.add(snapshot);
+            // a writer that reclaimed numbers after we read current may not have seen the pin
+            if (reclaims == reclaimed) return snapshot;
+            snapshot.close();
+        }
+    }
+
+    /** Return the result of the specified query on a snapshot of the current version of the graph. */
+    public <R> R read(Function<? super Graph<V>, R> query) {
+        try (Snapshot<V> snapshot = snapshot()) {
+            return query.apply(snapshot);
+        }
+    }
+
+    /** Return the number of snapshots that have not been closed. */
+    public int pinnedCount() {
+        return pinned.size();
+    }
+
+    /** Return the oldest version pinned by a snapshot that has not been closed, or -1 if there is none. */
+    public long oldestPinnedVersion() {
+        long oldest = -1;
+        for (Snapshot<V> snapshot : pinned) {
+            long number = snapshot.versionNumber;
+            if (oldest < 0 || number < oldest) oldest = number;
+        }
+        return oldest;
+    }
+
+    /** Return a list with the vertices in the graph. */
+    @Override
+    public List<V> vertices() {
+        return current.vertices();
+    }
+
+    /** Return a list with the edges in the graph. */
+    @Override
+    public List<Edge<V>> edges() {
+        return current.edges();
+    }
+
+    /**
+     * Return a list with the neighbors of the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<V> neighbors(V v) {
+        return current.neighbors(v);
+    }
+
+    /**
+     * Return the degree for the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public int degree(V v) {
+        return current.edgesOf(v).length;
+    }
+
+    /**
+     * Return the incident edges to the specified vertex.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public List<Edge<V>> incidentEdges(V v) {
+        return new ArrayList<>(Arrays.asList(current.edgesOf(v)));
+    }
+
+    /**
+     * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+     * Pre: The vertex is in the graph.
+     */
+    @Override
+    public void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+        current.forEachNeighbor(v, action);
+    }
+
+    /**
+     * Return a new cursor over the neighbors of the vertices in the graph.
+     * Reset it to a vertex before use; every reset reads the version current at that time.
+     */
+    @Override
+    public NeighborCursor<V> neighborCursor() {
+        return new EdgeArrayCursor<>(v -> current.edgesOf(v));
+    }
+
+    /**
+     * Return true, if the specified vertices are neighbors.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public boolean areAdjacent(V u, V v) {
+        return current.areAdjacent(u, v);
+    }
+
+    /**
+     * Return the edge between the specified vertices, or null if they are not adjacent.
+     * Pre: The vertices are vertices in the graph.
+     */
+    @Override
+    public Edge<V> getEdge(V u, V v) {
+        return current.getEdge(u, v);
+    }
+
+    /** Print the vertices and the edges. */
+    @Override
+    public void printGraph() {
+        System.out.println("Vertices: " + vertices());
+        System.out.println("Edges: " + edges());
+    }
+
+    /**
+     * Add a vertex to the graph.
+     * Pre: The vertex is not in the graph before this addition.
+     */
+    @Override
+    public synchronized void addVertex(V v) {
+        reclaim();
+        Integer number = numbers.get(v);
+        if (number == null) {
+            number = freeNumbers.isEmpty() ? nextNumber++ : freeNumbers.removeLast();
+            numbers.put(v, number);
+        } else {
+            // the vertex is back before its number was reclaimed
+            int n = number;
+            removals.removeIf(removal -> removal.number == n);
+        }
+        Builder<V> builder = new Builder<>(current);
+        assert builder.get(number) == null;
+        builder.set(number, new Entry<>(v, Entry.noEdges()));
+        builder.vertexCount++;
+        current = builder.build();
+    }
+
+    /**
+     * Add an edge with the specified weight between the specified vertices to the graph.
+     * Pre: Before addition, the vertices are in the graph, and the edge is not in the graph.
+     * Pre: The weight is not negative.
+     */
+    @Override
+    public synchronized Edge<V> addEdge(V u, V v, int weight) {
+        Edge<V> edge = new Edge<>(u, v, weight);
+        Builder<V> builder = new Builder<>(current);
+        builder.addEdge(edge);
+        current = builder.build();
+        return edge;
+    }
+
+    /**
+     * Add an edge with weight 0 between the specified vertices to the graph.
+     * Pre: Before addition, the vertices are in the graph, and the edge is not in the graph.
+     */
+    @Override
+    public Edge<V> addEdge(V u, V v) {
+        return addEdge(u, v, 0);
+    }
+
+    /**
+     * Add the specified edges to the graph, as one version.
+     * Pre: Before addition, the vertices of the edges are in the graph,
+     *   and the edges are not in the graph and are all different.
+     * Pre: The weights are not negative.
+     */
+    @Override
+    public synchronized void addEdges(Collection<Edge<V>> edges) {
+        Builder<V> builder = new Builder<>(current);
+        builder.addEdges(edges);
+        current = builder.build();
+    }
+
+    /**
+     * Remove the specified vertex from the graph.
+     * Pre: The vertex is in the graph, and the vertex has no incident edges.
+     */
+    @Override
+    public synchronized void removeVertex(V v) {
+        Integer number = numbers.get(v);
+        assert number != null;
+        Builder<V> builder = new Builder<>(current);
+        assert builder.get(number) != null && builder.get(number).edges.length == 0;
+        builder.set(number, null);
+        builder.vertexCount--;
+        current = builder.build();
+        removals.add(new Removal<>(v, number, current.number));
+        reclaim();
+    }
+
+    /**
+     * Remove the edge between the specified vertices from the graph.
+     * Pre: The vertices are vertices in the graph,
+     *   and The graph has an edge between the vertices.
+     */
+    @Override
+    public synchronized void removeEdge(V u, V v) {
+        Builder<V> builder = new Builder<>(current);
+        builder.removeEdge(u, v);
+        current = builder.build();
+    }
+
+    /**
+     * Remove the edges between the vertices of the specified edges from the graph, as one version.
+     * The weights of the specified edges are ignored.
+     * Pre: The graph has all the edges, and they are all different.
+     */
+    @Override
+    public synchronized void removeEdges(Collection<Edge<V>> edges) {
+        Builder<V> builder = new Builder<>(current);
+        builder.removeEdges(edges);
+        current = builder.build();
+    }
+
+    // Make the numbers of the removed vertices that no open snapshot can see free for new vertices.
+    private void reclaim() {
+        if (removals.isEmpty()) return;
+        reclaims++;
+        long oldest = oldestPinnedVersion();
+        // a snapshot of the version that removed a vertex, or a later one, does not look it up
+        while (!removals.isEmpty() && (oldest < 0 || oldest >= removals.peekFirst().version)) {
+            Removal<V> removal = removals.removeFirst();
+            numbers.remove(removal.vertex);
+            freeNumbers.add(removal.number);
+        }
+    }
+
+    //-----------------------------------------------------
+
+    /**
+     * Read-only view of one version of a VersionedGraph.
+     * Changing it throws UnsupportedOperationException, and using it after close throws IllegalStateException.
+     */
+    public static class Snapshot<V> implements Graph<V>, AutoCloseable {
+        private final VersionedGraph<V> graph;
+        private final long versionNumber;
+        private volatile Version<V> version; // null when closed
+
+        private Snapshot(VersionedGraph<V> graph, Version<V> version) {
+            this.graph = graph;
+            this.versionNumber = version.number;
+            this.version = version;
+        }
+
+        /** Return the version of the graph seen by this snapshot. */
+        public long version() {
+            return versionNumber;
+        }
+
+        /** Release the snapshot. Closing it again has no effect. */
+        @Override
+        public void close() {
+            if (version != null) {
+                version = null;
+                graph.pinned.remove(this);
+            }
+        }
+
+        /** Return a list with the vertices in the graph. */
+        @Override
+        public List<V> vertices() {
+            return pinned().vertices();
+        }
+
+        /** Return a list with the edges in the graph. */
+        @Override
+        public List<Edge<V>> edges() {
+            return pinned().edges();
+        }
+
+        /**
+         * Return a list with the neighbors of the specified vertex.
+         * Pre: The vertex is in the graph.
+         */
+        @Override
+        public List<V> neighbors(V v) {
+            return pinned().neighbors(v);
+        }
+
+        /**
+         * Return the degree for the specified vertex.
+         * Pre: The vertex is in the graph.
+         */
+        @Override
+        public int degree(V v) {
+            return pinned().edgesOf(v).length;
+        }
+
+        /**
+         * Return the incident edges to the specified vertex.
+         * Pre: The vertex is in the graph.
+         */
+        @Override
+        public List<Edge<V>> incidentEdges(V v) {
+            return new ArrayList<>(Arrays.asList(pinned().edgesOf(v)));
+        }
+
+        /**
+         * Call action with every neighbor of the specified vertex and the weight of the edge to it.
+         * Pre: The vertex is in the graph.
+         */
+        @Override
+        public void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+            pinned().forEachNeighbor(v, action);
+        }
+
+        /**
+         * Return a new cursor over the neighbors of the vertices in the graph.
+         * Reset it to a vertex before use; it can be reused for any number of vertices.
+         */
+        @Override
+        public NeighborCursor<V> neighborCursor() {
+            return new EdgeArrayCursor<>(v -> pinned().edgesOf(v));
+        }
+
+        /**
+         * Return true, if the specified vertices are neighbors.
+         * Pre: The vertices are vertices in the graph.
+         */
+        @Override
+        public boolean areAdjacent(V u, V v) {
+            return pinned().areAdjacent(u, v);
+        }
+
+        /**
+         * Return the edge between the specified vertices, or null if they are not adjacent.
+         * Pre: The vertices are vertices in the graph.
+         */
+        @Override
+        public Edge<V> getEdge(V u, V v) {
+            return pinned().getEdge(u, v);
+        }
+
+        /** Print the vertices and the edges. */
+        @Override
+        public void printGraph() {
+            System.out.println("Vertices: " + vertices());
+            System.out.println("Edges: " + edges());
+        }
+
+        @Override
+        public void addVertex(V v) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+
+        @Override
+        public Edge<V> addEdge(V u, V v, int weight) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+
+        @Override
+        public Edge<V> addEdge(V u, V v) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+
+        @Override
+        public void addEdges(Collection<Edge<V>> edges) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+
+        @Override
+        public void removeVertex(V v) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+
+        @Override
+        public void removeEdge(V u, V v) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+
+        @Override
+        public void removeEdges(Collection<Edge<V>> edges) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+
+        private Version<V> pinned() {
+            Version<V> pinned = version;
+            if (pinned == null) throw new IllegalStateException("Snapshot is closed");
+            return pinned;
+        }
+    }
+
+    //-----------------------------------------------------
+
+    // A vertex removed from the graph by the specified version, with the number it had.
+    private static final class Removal<V> {
+        final V vertex;
+        final int number;
+        final long version;
+
+        Removal(V vertex, int number, long version) {
+            this.vertex = vertex;
+            this.number = number;
+            this.version = version;
+        }
+    }
+
+    // A vertex and its incident edges; the array is never changed after it is published.
+    private static final class Entry<V> {
+        private static final Edge<?>[] NO_EDGES = new Edge<?>[0];
+
+        final V vertex;
+        final Edge<V>[] edges;
+
+        Entry(V vertex, Edge<V>[] edges) {
+            this.vertex = vertex;
+            this.edges = edges;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> Edge<V>[] noEdges() {
+            return (Edge<V>[]) NO_EDGES;
+        }
+    }
+
+    // Immutable version of the graph: a trie from vertex numbers to entries, shift bits above the leaves.
+    private static final class Version<V> {
+        private final ConcurrentHashMap<V, Integer> numbers;
+        final Object[] root;
+        final int shift;
+        final int vertexCount;
+        final int edgeCount;
+        final long number;
+
+        Version(ConcurrentHashMap<V, Integer> numbers, Object[] root, int shift, int vertexCount, int edgeCount,
+                long number) {
+            this.numbers = numbers;
+            this.root = root;
+            this.shift = shift;
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.number = number;
+        }
+
+        List<V> vertices() {
+            List<V> vertices = new ArrayList<>(vertexCount);
+            collect(root, shift, vertices, null);
+            return vertices;
+        }
+
+        List<Edge<V>> edges() {
+            List<Edge<V>> edges = new ArrayList<>(edgeCount);
+            collect(root, shift, null, edges);
+            return edges;
+        }
+
+        List<V> neighbors(V v) {
+            Edge<V>[] edges = edgesOf(v);
+            List<V> neighbors = new ArrayList<>(edges.length);
+            for (Edge<V> edge : edges) {
+                neighbors.add(opposite(edge, v));
+            }
+            return neighbors;
+        }
+
+        void forEachNeighbor(V v, ObjIntConsumer<? super V> action) {
+            for (Edge<V> edge : edgesOf(v)) {
+                action.accept(opposite(edge, v), edge.getWeight());
+            }
+        }
+
+        boolean areAdjacent(V u, V v) {
+            Edge<V>[] uEdges = edgesOf(u);
+            Edge<V>[] vEdges = edgesOf(v);
+            // scan the shorter array
+            return uEdges.length <= vEdges.length ? indexOf(uEdges, u, v) >= 0 : indexOf(vEdges, v, u) >= 0;
+        }
+
+        Edge<V> getEdge(V u, V v) {
+            Edge<V>[] uEdges = edgesOf(u);
+            int i = indexOf(uEdges, u, v);
+            return i < 0 ? null : uEdges[i];
+        }
+
+        Edge<V>[] edgesOf(V v) {
+            Integer number = numbers.get(v);
+            Entry<V> entry = number == null ? null : get(root, shift, number);
+            assert entry != null && entry.vertex.equals(v);
+            return entry.edges;
+        }
+
+        // Add the vertices and the edges, reported from their u end, in the subtrie at node to the lists.
+        @SuppressWarnings("unchecked")
+        private static <V> void collect(Object[] node, int shift, List<V> vertices, List<Edge<V>> edges) {
+            for (Object child : node) {
+                if (child == null) continue;
+                if (shift > 0) {
+                    collect((Object[]) child, shift - BITS, vertices, edges);
+                } else {
+                    Entry<V> entry = (Entry<V>) child;
+                    if (vertices != null) vertices.add(entry.vertex);
+                    if (edges != null) {
+                        for (Edge<V> edge : entry.edges) {
+                            if (edge.getU().equals(entry.vertex)) edges.add(edge);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Working copy of a version; set copies the trie nodes on the path it changes, once per builder.
+    private static final class Builder<V> {
+        private final Version<V> base;
+        // Trie nodes made by this builder. They are not in a published version yet, so they are changed in place.
+        private final Set<Object[]> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+        private Object[] root;
+        private int shift;
+        int vertexCount;
+        private int edgeCount;
+
+        Builder(Version<V> base) {
+            this.base = base;
+            root = base.root;
+            shift = base.shift;
+            vertexCount = base.vertexCount;
+            edgeCount = base.edgeCount;
+        }
+
+        Entry<V> get(int number) {
+            return VersionedGraph.get(root, shift, number);
+        }
+
+        void set(int number, Entry<V> entry) {
+            while (number >>> BITS >>> shift != 0) {
+                Object[] grown = own(new Object[WIDTH]);
+                grown[0] = root;
+                root = grown;
+                shift += BITS;
+            }
+            root = set(root, shift, number, entry);
+            // the root is never dropped, even when it is empty
+            if (root == null) root = own(new Object[WIDTH]);
+        }
+
+        void addEdge(Edge<V> edge) {
+            assert edge.getWeight() >= 0;
+            int u = number(edge.getU());
+            int v = number(edge.getV());
+            Entry<V> uEntry = get(u);
+            assert indexOf(uEntry.edges, edge.getU(), edge.getV()) < 0;
+            set(u, new Entry<>(uEntry.vertex, with(uEntry.edges, edge)));
+            if (u != v) {
+                Entry<V> vEntry = get(v);
+                set(v, new Entry<>(vEntry.vertex, with(vEntry.edges, edge)));
+            }
+            edgeCount++;
+        }
+
+        void removeEdge(V u, V v) {
+            int uNumber = number(u);
+            int vNumber = number(v);
+            Entry<V> uEntry = get(uNumber);
+            int i = indexOf(uEntry.edges, u, v);
+            assert i >= 0;
+            set(uNumber, new Entry<>(uEntry.vertex, without(uEntry.edges, i)));
+            if (uNumber != vNumber) {
+                Entry<V> vEntry = get(vNumber);
+                set(vNumber, new Entry<>(vEntry.vertex, without(vEntry.edges, indexOf(vEntry.edges, v, u))));
+            }
+            edgeCount--;
+        }
+
+        // Add the edges, copying the edge array of every vertex once however many edges it gets.
+        void addEdges(Collection<Edge<V>> edges) {
+            Map<Integer, List<Edge<V>>> added = new HashMap<>();
+            for (Edge<V> edge : edges) {
+                assert edge.getWeight() >= 0;
+                int u = number(edge.getU());
+                int v = number(edge.getV());
+                added.computeIfAbsent(u, k -> new ArrayList<>()).add(edge);
+                if (u != v) added.computeIfAbsent(v, k -> new ArrayList<>()).add(edge);
+            }
+            added.forEach((number, vertexEdges) -> {
+                Entry<V> entry = get(number);
+                assert allNew(entry, vertexEdges);
+                Edge<V>[] copy = Arrays.copyOf(entry.edges, entry.edges.length + vertexEdges.size());
+                int i = entry.edges.length;
+                for (Edge<V> edge : vertexEdges) {
+                    copy[i++] = edge;
+                }
+                set(number, new Entry<>(entry.vertex, copy));
+            });
+            edgeCount += edges.size();
+        }
+
+        // Remove the edges between the vertices of the edges, copying the edge array of every vertex once.
+        void removeEdges(Collection<Edge<V>> edges) {
+            Map<Integer, Set<V>> removed = new HashMap<>();
+            for (Edge<V> edge : edges) {
+                int u = number(edge.getU());
+                int v = number(edge.getV());
+                removed.computeIfAbsent(u, k -> new HashSet<>()).add(edge.getV());
+                if (u != v) removed.computeIfAbsent(v, k -> new HashSet<>()).add(edge.getU());
+            }
+            removed.forEach((number, opposites) -> {
+                Entry<V> entry = get(number);
+                Edge<V>[] kept = Arrays.copyOf(entry.edges, entry.edges.length - opposites.size());
+                int n = 0;
+                for (Edge<V> edge : entry.edges) {
+                    if (!opposites.contains(opposite(edge, entry.vertex))) kept[n++] = edge;
+                }
+                assert n == kept.length;
+                set(number, new Entry<>(entry.vertex, kept));
+            });
+            edgeCount -= edges.size();
+        }
+
+        Version<V> build() {
+            return new Version<>(base.numbers, root, shift, vertexCount, edgeCount, base.number + 1);
+        }
+
+        private int number(V v) {
+            Integer number = base.numbers.get(v);
+            assert number != null && get(number) != null;
+            return number;
+        }
+
+        // Return the node with the value set, or null if that left the node empty.
+        private Object[] set(Object[] node, int shift, int number, Object value) {
+            Object[] copy = owned.contains(node) ? node : own(node.clone());
+            int i = (number >>> shift) & MASK;
+            if (shift == 0) {
+                copy[i] = value;
+            } else {
+                Object[] child = (Object[]) node[i];
+                if (child == null && value == null) return node;
+                copy[i] = set(child == null ? own(new Object[WIDTH]) : child, shift - BITS, number, value);
+            }
+            // drop emptied nodes, so removed vertices do not leave their paths behind
+            if (value == null && isEmpty(copy)) return null;
+            return copy;
+        }
+
+        private Object[] own(Object[] node) {
+            owned.add(node);
+            return node;
+        }
+
+        private static boolean isEmpty(Object[] node) {
+            for (Object child : node) {
+                if (child != null) return false;
+            }
+            return true;
+        }
+
+        // Return true if the edges are all different and none of them is among the edges of the entry.
+        private static <V> boolean allNew(Entry<V> entry, List<Edge<V>> edges) {
+            Set<V> neighbors = new HashSet<>();
+            for (Edge<V> edge : entry.edges) {
+                neighbors.add(opposite(edge, entry.vertex));
+            }
+            for (Edge<V> edge : edges) {
+                if (!neighbors.add(opposite(edge, entry.vertex))) return false;
+            }
+            return true;
+        }
+    }
+
+    //-----------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private static <V> Entry<V> get(Object[] root, int shift, int number) {
+        if (number >>> BITS >>> shift != 0) return null;
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(number >>> level) & MASK];
+            if (node == null) return null;
+        }
+        return (Entry<V>) node[number & MASK];
+    }
+
+    private static <V> V opposite(Edge<V> edge, V v) {
+        return edge.getU().equals(v) ? edge.getV() : edge.getU();
+    }
+
+    // Return the index of the edge to v among the edges of u, or -1 if there is none.
+    private static <V> int indexOf(Edge<V>[] edges, V u, V v) {
+        for (int i = 0; i < edges.length; i++) {
+            if (opposite(edges[i], u).equals(v)) return i;
+        }
+        return -1;
+    }
+
+    private static <V> Edge<V>[] with(Edge<V>[] edges, Edge<V> edge) {
+        Edge<V>[] copy = Arrays.copyOf(edges, edges.length + 1);
+        copy[edges.length] = edge;
+        return copy;
+    }
+
+    private static <V> Edge<V>[] without(Edge<V>[] edges, int i) {
+        Edge<V>[] copy = Arrays.copyOf(edges, edges.length - 1);
+        if (i < copy.length) copy[i] = edges[edges.length - 1];
+        return copy;
+    }
+}